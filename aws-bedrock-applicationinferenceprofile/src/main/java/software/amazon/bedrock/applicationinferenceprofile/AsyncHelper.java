@@ -0,0 +1,76 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs Bedrock calls concurrently on a small pool of daemon threads shared by all handlers.
+ * <p>
+ * The handlers use the synchronous BedrockClient, which is thread-safe, so fanning calls out to this pool overlaps
+ * them the same way the async client would, without bringing a second HTTP stack into the function.
+ * Tasks submitted here must not wait on other tasks of the same pool.
+ */
+public class AsyncHelper {
+    private static final int MAX_THREADS = 16;
+    private static final long IDLE_SECONDS = 60L;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = newExecutor();
+
+    /**
+     * supplyAsync
+     * <p>
+     * Starts the call on the shared pool.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(final Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, EXECUTOR);
+    }
+
+    /**
+     * join
+     * <p>
+     * Waits for the call and rethrows the exception it failed with, so the caller sees the same SDK exception a
+     * direct call would have thrown.
+     */
+    public static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * awaitQuietly
+     * <p>
+     * Waits for a call whose result is no longer needed. Lambda may freeze the container as soon as the handler
+     * returns, so no call is left running past the invocation that started it.
+     */
+    public static void awaitQuietly(final CompletableFuture<?> future) {
+        future.handle((result, exception) -> null).join();
+    }
+
+    private static ExecutorService newExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, IDLE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "bedrock-aip-worker-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -20,34 +20,65 @@ import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorExceptio
 import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
 import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
-// Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
-
+/**
+ * Shared by the Create, Read, Update, Delete and List handlers.
+ * <p>
+ * Arms the Deadline of the invocation, hands the handlers a GuardedProxyClient over the client ClientBuilder caches
+ * for the request region, and maps Bedrock exceptions to CloudFormation error codes in handleError.
+ */
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
+    protected final HandlerSettings settings;
+
+    protected BaseHandlerStd() {
+        this(HandlerSettings.DEPLOYED);
+    }
+
+    protected BaseHandlerStd(final HandlerSettings settings) {
+        this.settings = settings;
+    }
+
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
+        // armed first, so the deadline counts everything this invocation does
+        final Deadline deadline = Deadline.fromSettings(settings);
         return handleRequest(
             proxy,
             request,
             callbackContext != null ? callbackContext : new CallbackContext(),
-            proxy.newProxy(ClientBuilder::getClient),
+            // the supplier hands back the warm client ClientBuilder caches for the request region, not a new one per call
+            new GuardedProxyClient(proxy.newProxy(() -> ClientBuilder.getClient(request.getRegion(), null)),
+                request.getAwsAccountId(), request.getRegion(), settings, deadline),
+            deadline,
             logger
         );
     }
 
+    protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final ProxyClient<BedrockClient> proxyClient,
+        final Logger logger) {
+        return handleRequest(proxy, request, callbackContext, proxyClient, Deadline.fromSettings(settings), logger);
+    }
+
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final ProxyClient<BedrockClient> proxyClient,
+        final Deadline deadline,
         final Logger logger);
 
     public static ProgressEvent<ResourceModel, CallbackContext> handleError(
@@ -55,8 +86,7 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final Exception e,
         final ProxyClient<BedrockClient> proxyClient,
         final ResourceModel resourceModel,
-        final CallbackContext callbackContext)
-        throws Exception {
+        final CallbackContext callbackContext) {
 
         final BaseHandlerException ex;
 
@@ -76,6 +106,16 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             ex = new CfnServiceInternalErrorException(e);
         } else if (e instanceof TooManyTagsException) {
             ex = new CfnInvalidRequestException(e);
+        } else if (e instanceof CircuitOpenException) {
+            // nothing was sent, callers that can retry are told when the circuit lets calls through again
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .status(OperationStatus.FAILED)
+                    .errorCode(HandlerErrorCode.ServiceInternalError)
+                    .message(e.getMessage())
+                    .resourceModel(resourceModel)
+                    .callbackContext(callbackContext)
+                    .callbackDelaySeconds(StabilizationStrategy.toCallbackDelaySeconds(((CircuitOpenException) e).getRetryAfter()))
+                    .build();
         } else {
             ex = new CfnInternalFailureException(e);
         }
@@ -1,5 +1,7 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
+import java.util.HashSet;
+import java.util.Set;
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
 @lombok.Getter
@@ -7,4 +9,21 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
+    // ARN of the profile created or deleted by this operation that is still waiting to stabilize
+    private String pendingInferenceProfileArn;
+
+    // number of callbacks scheduled while waiting for the resource to stabilize
+    private int stabilizationAttempts;
+
+    // epoch millis after which stabilization is reported as NotStabilized
+    private long stabilizationDeadline;
+
+    // tag chunks of this update that TagResource or UntagResource already applied
+    private Set<String> completedTagChunks = new HashSet<>();
+
+    // throttling or internal errors in a row that were retried through a callback
+    private int transientRetryAttempts;
+
+    // callback delay chosen for the last of those retries, the next one is drawn relative to it
+    private int transientRetryDelaySeconds;
 }
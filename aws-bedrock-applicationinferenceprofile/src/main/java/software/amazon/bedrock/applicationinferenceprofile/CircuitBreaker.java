@@ -0,0 +1,136 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+
+/**
+ * Stops calling a Bedrock API of a region that keeps failing.
+ * <p>
+ * Closed, the breaker counts calls and failures over a sliding window of ten buckets. Once the window holds at least
+ * minimumCalls calls and the share of failures reaches failureRate it opens: calls are rejected without reaching
+ * Bedrock until openDuration has passed. It is then half-open and lets one probe through; the probe closes the
+ * breaker when it succeeds and opens it again when it fails. Only service-side errors and timeouts count as
+ * failures, a rejected request says nothing about the health of the endpoint.
+ */
+public class CircuitBreaker {
+    private static final int BUCKETS = 10;
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final long bucketNanos;
+    private final int minimumCalls;
+    private final double failureRate;
+    private final long openNanos;
+
+    private final long[] bucketStarts = new long[BUCKETS];
+    private final int[] bucketCalls = new int[BUCKETS];
+    private final int[] bucketFailures = new int[BUCKETS];
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(final Duration window, final int minimumCalls, final double failureRate, final Duration openDuration) {
+        this.bucketNanos = Math.max(window.toNanos() / BUCKETS, 1);
+        this.minimumCalls = Math.max(minimumCalls, 1);
+        this.failureRate = failureRate;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * tryAcquire
+     * <p>
+     * Returns 0 when the call may go out, otherwise the nanoseconds until the breaker lets a probe through.
+     */
+    synchronized long tryAcquire(final long now) {
+        if (state == State.OPEN) {
+            final long remaining = openedAt + openNanos - now;
+            if (remaining > 0) {
+                return remaining;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return Math.max(openNanos, 1);
+            }
+            probeInFlight = true;
+        }
+        return 0;
+    }
+
+    synchronized void onSuccess(final long now) {
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        record(now, false);
+    }
+
+    synchronized void onFailure(final long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return;
+        }
+        record(now, true);
+        if (state == State.CLOSED) {
+            int calls = 0;
+            int failures = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (now - bucketStarts[i] < bucketNanos * BUCKETS) {
+                    calls += bucketCalls[i];
+                    failures += bucketFailures[i];
+                }
+            }
+            if (calls >= minimumCalls && failures >= failureRate * calls) {
+                open(now);
+            }
+        }
+    }
+
+    /**
+     * onSkipped
+     * <p>
+     * The acquired call was not sent after all; a half-open breaker lets the next call probe instead.
+     */
+    synchronized void onSkipped() {
+        probeInFlight = false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(final long now, final boolean failure) {
+        final long bucketStart = now - Math.floorMod(now, bucketNanos);
+        final int index = (int) Math.floorMod(Math.floorDiv(now, bucketNanos), (long) BUCKETS);
+        if (bucketStarts[index] != bucketStart || bucketCalls[index] == 0) {
+            bucketStarts[index] = bucketStart;
+            bucketCalls[index] = 0;
+            bucketFailures[index] = 0;
+        }
+        bucketCalls[index]++;
+        if (failure) {
+            bucketFailures[index]++;
+        }
+    }
+
+    private void open(final long now) {
+        state = State.OPEN;
+        openedAt = now;
+        probeInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketCalls[i] = 0;
+            bucketFailures[i] = 0;
+        }
+    }
+}
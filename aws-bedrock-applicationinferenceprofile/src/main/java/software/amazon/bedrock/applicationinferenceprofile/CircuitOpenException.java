@@ -0,0 +1,21 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling Bedrock while the circuit breaker of the API is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public CircuitOpenException(final String api, final Duration retryAfter) {
+        super(String.format("%s is failing, calls are paused for %s", api, retryAfter));
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,15 +1,67 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.BedrockClientBuilder;
 import software.amazon.cloudformation.LambdaWrapper;
 
+/**
+ * Hands out BedrockClients that are shared across invocations of a warm container.
+ * <p>
+ * Building a client resolves the region, endpoint and interceptor chain, so clients are built once per
+ * region/endpoint pair and reused by every handler; BaseHandlerStd asks for the region of the request. Credentials
+ * are injected per request by the proxy, which makes the same client safe to share across callers.
+ */
 public class ClientBuilder {
 
+    private static final ConcurrentMap<ClientKey, BedrockClient> CLIENTS = new ConcurrentHashMap<>();
+
     public static BedrockClient getClient() {
-        return BedrockClient.builder()
-            .httpClient(LambdaWrapper.HTTP_CLIENT)
-            .build();
+        return getClient(null, null);
+    }
+
+    /**
+     * getClient
+     * <p>
+     * Returns the cached client for the region and endpoint, building it on first use.
+     *
+     * @param region   region of the client, or null to use the SDK default region provider chain
+     * @param endpoint endpoint override, or null to use the regional Bedrock endpoint
+     * @return shared BedrockClient
+     */
+    public static BedrockClient getClient(final String region, final String endpoint) {
+        return CLIENTS.computeIfAbsent(new ClientKey(region, endpoint), ClientBuilder::buildClient);
+    }
+
+    /**
+     * clear
+     * <p>
+     * Drops the cached clients so the next getClient call builds a fresh one. The dropped clients are not closed:
+     * calls still running on them finish normally. Transport errors never clear the cache, the SDK recovers broken
+     * connections on its own, and closing a client would fail the other invocations sharing it.
+     */
+    static void clear() {
+        CLIENTS.clear();
+    }
+
+    private static BedrockClient buildClient(final ClientKey key) {
+        final BedrockClientBuilder builder = BedrockClient.builder()
+            .httpClient(LambdaWrapper.HTTP_CLIENT);
+        if (key.getRegion() != null) {
+            builder.region(Region.of(key.getRegion()));
+        }
+        if (key.getEndpoint() != null) {
+            builder.endpointOverride(URI.create(key.getEndpoint()));
+        }
+        return builder.build();
+    }
+
+    @lombok.Value
+    private static class ClientKey {
+        String region;
+        String endpoint;
     }
 }
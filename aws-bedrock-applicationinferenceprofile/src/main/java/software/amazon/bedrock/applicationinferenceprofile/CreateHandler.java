@@ -1,12 +1,20 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.ConflictException;
 import software.amazon.awssdk.services.bedrock.model.CreateInferenceProfileRequest;
-import software.amazon.awssdk.services.bedrock.model.CreateInferenceProfileResponse;
 import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
 import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileModel;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.bedrock.model.ResourceNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -14,17 +22,27 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class CreateHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String FOUNDATION_MODEL_RESOURCE = ":foundation-model/";
+
+    // one ReadHandler for all requests of this handler, handlers keep nothing per request
+    private final ReadHandler readHandler = new ReadHandler(settings);
+
+    public CreateHandler() {
+        super();
+    }
+
+    public CreateHandler(final HandlerSettings settings) {
+        super(settings);
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final ProxyClient<BedrockClient> proxyClient,
+            final Deadline deadline,
             final Logger logger) {
 
-        this.logger = logger;
-
         logger.log(String.format("Handling CreateHandler request for AccountId %s and clientRequestToken %s",
                 request.getAwsAccountId(), request.getClientRequestToken()));
 
@@ -34,61 +52,244 @@ public class CreateHandler extends BaseHandlerStd {
          * 3. Translate to CFN Tags
          */
         final List<Tag> tags = Translator.translateFromSdkTags(TagHelper.convertToList(TagHelper.getNewDesiredTags(request)));
-        request.getDesiredResourceState().setTags(tags);
+        final ResourceModel model = request.getDesiredResourceState();
+        model.setTags(tags);
 
-        return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(progressEvent ->
+        final StabilizationStrategy strategy = StabilizationStrategy.fromSettings(settings);
+        final String credentialScope = CredentialScope.of(proxyClient);
+        final StatusPoller statusPoller = StatusPoller.of(request.getAwsAccountId(), request.getRegion(),
+                credentialScope, settings);
+        final String cacheScope = CredentialScope.keyPrefix(request.getAwsAccountId(), request.getRegion(), credentialScope);
+        final String pendingArn = callbackContext.getPendingInferenceProfileArn();
+        if (pendingArn != null) {
+            // re-invoked by CloudFormation after a callback delay, the profile already exists
+            model.setInferenceProfileIdentifier(pendingArn);
+            model.setInferenceProfileArn(pendingArn);
+        }
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = ProgressEvent.progress(model, callbackContext)
+                .then(deadline.step(progressEvent -> pendingArn != null ?
+                        progressEvent :
                         createInferenceProfile(
                                 proxy,
                                 proxyClient,
                                 progressEvent,
-                                request.getClientRequestToken()))
-                .then(progressEvent ->
-                        new ReadHandler().handleRequest(
+                                request,
+                                strategy,
+                                cacheScope,
+                                deadline,
+                                logger)))
+                .then(deadline.step(progressEvent ->
+                        pollStabilization(
+                                proxyClient,
+                                progressEvent,
+                                strategy,
+                                statusPoller,
+                                deadline,
+                                logger)))
+                .then(deadline.step(progressEvent -> {
+                    if (settings.isVerifyCreateWithRead()) {
+                        return readHandler.handleRequest(
                                 proxy,
                                 request,
                                 progressEvent.getCallbackContext(),
                                 proxyClient,
-                                logger));
+                                deadline,
+                                logger);
+                    }
+                    // the stabilization poll filled the model and it carries the tags we sent
+                    return ProgressEvent.defaultSuccessHandler(progressEvent.getResourceModel());
+                }));
+        // throttling and internal errors come back through a callback instead of failing the operation
+        return RetryStrategy.fromSettings(settings).apply(event, model, callbackContext, logger);
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> createInferenceProfile(
             final AmazonWebServicesClientProxy proxy,
             final ProxyClient<BedrockClient> proxyClient,
             final ProgressEvent<ResourceModel, CallbackContext> progressEvent,
-            final String clientRequestToken) {
+            final ResourceHandlerRequest<ResourceModel> request,
+            final StabilizationStrategy strategy,
+            final String cacheScope,
+            final Deadline deadline,
+            final Logger logger) {
         return proxy.initiate("AWS-Bedrock-ApplicationInferenceProfile::Create", proxyClient,
                         progressEvent.getResourceModel(), progressEvent.getCallbackContext())
-                .translateToServiceRequest(model -> Translator.translateToCreateRequest(progressEvent.getResourceModel(), clientRequestToken))
+                .translateToServiceRequest(model -> Translator.translateToCreateRequest(progressEvent.getResourceModel(),
+                        request.getClientRequestToken()))
                 .makeServiceCall((createInferenceProfileRequest, client) ->
                         client.injectCredentialsAndInvokeV2(createInferenceProfileRequest, client.client()::createInferenceProfile))
-                .stabilize(this::isStabilized)
-                .handleError(BaseHandlerStd::handleError)
-                .progress();
+                .handleError((createInferenceProfileRequest, exception, client, model, context) ->
+                        exception instanceof ConflictException ?
+                                adoptExistingProfile(client, request, createInferenceProfileRequest, exception, model, context, strategy,
+                                        cacheScope, deadline, logger) :
+                                handleError(createInferenceProfileRequest, exception, client, model, context))
+                .done((createInferenceProfileRequest, createInferenceProfileResponse, client, model, context) -> {
+                    final String arn = createInferenceProfileResponse.inferenceProfileArn();
+                    ReadCache.invalidate(cacheScope, arn);
+                    ProfileNameIndex.fromSettings(settings).record(request.getAwsAccountId(), request.getRegion(),
+                            createInferenceProfileRequest.inferenceProfileName(), arn);
+                    model.setInferenceProfileIdentifier(arn);
+                    model.setInferenceProfileArn(arn);
+                    strategy.start(context, arn);
+
+                    if (strategy.isTerminal(createInferenceProfileResponse.status())) {
+                        logger.log(String.format("%s [%s] was reported %s by CreateInferenceProfile.", ResourceModel.TYPE_NAME,
+                                arn, createInferenceProfileResponse.statusAsString()));
+                        return ProgressEvent.progress(model, context);
+                    }
+                    return strategy.awaitNextPoll(model, context);
+                });
+    }
+
+    /**
+     * The name is taken, most likely by the profile an earlier invocation of this create made before it was cut off
+     * without recording it. That profile is looked up by name and adopted when it carries the stack id and logical id
+     * system tags of this request and has the description and model source it asks for, so the create resumes at
+     * stabilization. A profile of anyone else still fails the create with the conflict, and so does the profile a
+     * replacement is about to replace: it has the same system tags, but differs in one of these create-only
+     * properties. When the lookup itself fails, the create fails with the conflict rather than the lookup's error.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> adoptExistingProfile(
+            final ProxyClient<BedrockClient> proxyClient,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CreateInferenceProfileRequest createInferenceProfileRequest,
+            final Exception conflict,
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final StabilizationStrategy strategy,
+            final String cacheScope,
+            final Deadline deadline,
+            final Logger logger) {
+        final String name = createInferenceProfileRequest.inferenceProfileName();
+        if (name == null) {
+            return handleError(createInferenceProfileRequest, conflict, proxyClient, model, callbackContext);
+        }
+        final ProfileNameIndex profileNames = ProfileNameIndex.fromSettings(settings);
+        String arn;
+        Map<String, String> tags;
+        try {
+            arn = profileNames.find(proxyClient, request.getAwsAccountId(), request.getRegion(), name, deadline);
+            tags = arn == null ? null : tagsOf(proxyClient, arn);
+            if (arn != null && tags == null) {
+                // the index pointed to a profile deleted since, look the name up again
+                ProfileNameIndex.forget(request.getAwsAccountId(), request.getRegion(), name);
+                arn = profileNames.find(proxyClient, request.getAwsAccountId(), request.getRegion(), name, deadline);
+                tags = arn == null ? null : tagsOf(proxyClient, arn);
+            }
+        } catch (final AwsServiceException | SdkClientException | CircuitOpenException e) {
+            logger.log(String.format("Looking up the %s named %s failed: %s", ResourceModel.TYPE_NAME, name, e));
+            return handleError(createInferenceProfileRequest, conflict, proxyClient, model, callbackContext);
+        }
+        if (arn == null && deadline.isExpired(System.nanoTime())) {
+            // the lookup was cut off, the callback creates again and resumes it from the names recorded so far
+            return Deadline.handBack(model, callbackContext);
+        }
+        if (tags == null || !TagHelper.isCreatedForRequest(tags, request)) {
+            return handleError(createInferenceProfileRequest, conflict, proxyClient, model, callbackContext);
+        }
+        try {
+            if (!isCreatedFrom(proxyClient, arn, createInferenceProfileRequest)) {
+                logger.log(String.format("%s [%s] named %s belongs to this resource but differs in Description or ModelSource, "
+                        + "not adopting it.", ResourceModel.TYPE_NAME, arn, name));
+                return handleError(createInferenceProfileRequest, conflict, proxyClient, model, callbackContext);
+            }
+        } catch (final AwsServiceException | SdkClientException | CircuitOpenException e) {
+            logger.log(String.format("Comparing %s [%s] with the request failed: %s", ResourceModel.TYPE_NAME, arn, e));
+            return handleError(createInferenceProfileRequest, conflict, proxyClient, model, callbackContext);
+        }
+
+        logger.log(String.format("%s [%s] named %s was already created for this resource, resuming at stabilization.",
+                ResourceModel.TYPE_NAME, arn, name));
+        ReadCache.invalidate(cacheScope, arn);
+        model.setInferenceProfileIdentifier(arn);
+        model.setInferenceProfileArn(arn);
+        strategy.start(callbackContext, arn);
+        return ProgressEvent.progress(model, callbackContext);
+    }
+
+    /**
+     * Whether the profile has the description and the model source the create request asks for. A profile copied
+     * from a foundation model serves that model; one copied from an inference profile serves the same models as the
+     * profile it was copied from.
+     */
+    private static boolean isCreatedFrom(final ProxyClient<BedrockClient> proxyClient,
+                                         final String inferenceProfileArn,
+                                         final CreateInferenceProfileRequest createInferenceProfileRequest) {
+        final GetInferenceProfileResponse profile = getProfile(proxyClient, inferenceProfileArn);
+        final String copyFrom = createInferenceProfileRequest.modelSource() == null ?
+                null : createInferenceProfileRequest.modelSource().copyFrom();
+        if (!Objects.equals(createInferenceProfileRequest.description(), profile.description()) || copyFrom == null) {
+            return false;
+        }
+        final Set<String> models = modelArns(profile);
+        if (copyFrom.contains(FOUNDATION_MODEL_RESOURCE)) {
+            return models.contains(copyFrom);
+        }
+        return models.equals(modelArns(getProfile(proxyClient, copyFrom)));
+    }
+
+    private static GetInferenceProfileResponse getProfile(final ProxyClient<BedrockClient> proxyClient,
+                                                          final String inferenceProfileIdentifier) {
+        return proxyClient.injectCredentialsAndInvokeV2(
+                GetInferenceProfileRequest.builder().inferenceProfileIdentifier(inferenceProfileIdentifier).build(),
+                proxyClient.client()::getInferenceProfile);
+    }
+
+    private static Set<String> modelArns(final GetInferenceProfileResponse profile) {
+        return profile.models().stream()
+                .map(InferenceProfileModel::modelArn)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Tags of the profile, or null when it does not exist.
+     */
+    private static Map<String, String> tagsOf(final ProxyClient<BedrockClient> proxyClient, final String inferenceProfileArn) {
+        try {
+            return TagHelper.convertToMap(proxyClient.injectCredentialsAndInvokeV2(
+                    ListTagsForResourceRequest.builder().resourceARN(inferenceProfileArn).build(),
+                    proxyClient.client()::listTagsForResource).tags());
+        } catch (final ResourceNotFoundException e) {
+            return null;
+        }
     }
 
-    private boolean isStabilized(final CreateInferenceProfileRequest createInferenceProfileRequest,
-                                 final CreateInferenceProfileResponse createInferenceProfileResponse,
-                                 final ProxyClient<BedrockClient> client,
-                                 final ResourceModel model,
-                                 final CallbackContext callbackContext) {
+    /**
+     * Polls the status of the pending profile once, batched with the other polls of the container. Once it is ACTIVE
+     * the response fills the read-only properties of the model, otherwise CloudFormation is asked to call back after
+     * the next backoff delay, or right away when the deadline passed before the poll came back.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> pollStabilization(
+            final ProxyClient<BedrockClient> proxyClient,
+            final ProgressEvent<ResourceModel, CallbackContext> progressEvent,
+            final StabilizationStrategy strategy,
+            final StatusPoller statusPoller,
+            final Deadline deadline,
+            final Logger logger) {
+        final ResourceModel model = progressEvent.getResourceModel();
+        final CallbackContext callbackContext = progressEvent.getCallbackContext();
         final GetInferenceProfileRequest getInferenceProfileRequest = GetInferenceProfileRequest.builder()
-                .inferenceProfileIdentifier(createInferenceProfileResponse.inferenceProfileArn())
+                .inferenceProfileIdentifier(callbackContext.getPendingInferenceProfileArn())
                 .build();
-        final GetInferenceProfileResponse getInferenceProfileResponse =
-                client.injectCredentialsAndInvokeV2(getInferenceProfileRequest, client.client()::getInferenceProfile);
-
-        switch (getInferenceProfileResponse.status()) {
-        case ACTIVE:
-            logger.log(String.format("%s [%s] has stabilized.", ResourceModel.TYPE_NAME,
-                    getInferenceProfileResponse.inferenceProfileArn()));
-            model.setInferenceProfileIdentifier(createInferenceProfileResponse.inferenceProfileArn());
-            model.setInferenceProfileArn(createInferenceProfileResponse.inferenceProfileArn());
-            return true;
-        default:
-            final String errorMessage = String.format("%s [%s] failed to create.",
-                    ResourceModel.TYPE_NAME, createInferenceProfileRequest.inferenceProfileName());
-            throw new CfnServiceInternalErrorException(new Throwable(errorMessage));
+
+        final GetInferenceProfileResponse getInferenceProfileResponse;
+        try {
+            getInferenceProfileResponse = statusPoller.poll(proxyClient, getInferenceProfileRequest.inferenceProfileIdentifier(), deadline);
+        } catch (final Exception e) {
+            return handleError(getInferenceProfileRequest, e, proxyClient, model, callbackContext);
+        }
+        if (getInferenceProfileResponse == null) {
+            return Deadline.handBack(model, callbackContext);
+        }
+
+        if (strategy.isTerminal(getInferenceProfileResponse.status())) {
+            logger.log(String.format("%s [%s] has stabilized after %d callback(s).", ResourceModel.TYPE_NAME,
+                    getInferenceProfileResponse.inferenceProfileArn(), callbackContext.getStabilizationAttempts()));
+            return ProgressEvent.progress(Translator.translateFromReadResponse(getInferenceProfileResponse, model), callbackContext);
         }
+        logger.log(String.format("%s [%s] is %s, waiting to stabilize.", ResourceModel.TYPE_NAME,
+                getInferenceProfileResponse.inferenceProfileArn(), getInferenceProfileResponse.statusAsString()));
+        return strategy.awaitNextPoll(model, callbackContext);
     }
 }
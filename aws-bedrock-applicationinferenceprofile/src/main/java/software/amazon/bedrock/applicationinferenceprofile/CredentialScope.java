@@ -0,0 +1,50 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.concurrent.atomic.AtomicReference;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Tells which credentials the calls of a ProxyClient are signed with.
+ * <p>
+ * Calls that concurrent invocations of a warm container share, see SingleFlight, StatusPoller and ReadCache, may only
+ * be shared between callers signing with the same credentials: a response fetched with one role must not answer a
+ * caller whose role is not allowed to read it, nor hide the AccessDeniedException that caller would have got.
+ */
+public class CredentialScope {
+
+    /**
+     * of
+     * <p>
+     * The access key id of the credentials the proxy client puts on its requests, or null when it puts none on them.
+     * Callers must not share calls with anyone when this is null.
+     */
+    static String of(final ProxyClient<BedrockClient> proxyClient) {
+        // the guard would count the probe as a call of the API
+        final ProxyClient<BedrockClient> unguarded = proxyClient instanceof GuardedProxyClient ?
+                ((GuardedProxyClient) proxyClient).getDelegate() : proxyClient;
+        final AtomicReference<String> accessKeyId = new AtomicReference<>();
+        // nothing is sent, the function only looks at the credentials the proxy put on the request
+        unguarded.injectCredentialsAndInvokeV2(GetInferenceProfileRequest.builder().build(), request -> {
+            request.overrideConfiguration()
+                    .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
+                    .map(credentialsProvider -> credentialsProvider.resolveCredentials().accessKeyId())
+                    .ifPresent(accessKeyId::set);
+            return GetInferenceProfileResponse.builder().build();
+        });
+        return accessKeyId.get();
+    }
+
+    /**
+     * keyPrefix
+     * <p>
+     * Prefix of the keys under which callers in the account and region signing with the credentials of the scope
+     * share calls and their responses, or null when the scope is null.
+     */
+    static String keyPrefix(final String awsAccountId, final String region, final String credentialScope) {
+        return credentialScope == null ? null : String.join("/", awsAccountId, region, credentialScope, "");
+    }
+}
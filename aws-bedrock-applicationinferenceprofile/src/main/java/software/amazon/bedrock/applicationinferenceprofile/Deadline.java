@@ -0,0 +1,108 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Time left in the current handler invocation.
+ * <p>
+ * The deadline is armed when BaseHandlerStd.handleRequest starts and ends invocationTimeReserve before the invocation
+ * times out, leaving that much time to save progress and return. Every Bedrock call gets the time left as its SDK
+ * apiCallTimeout, and a chain step that would start after the deadline returns IN_PROGRESS instead: the handlers keep
+ * their progress in the CallbackContext, so the callback picks up at that step with a fresh invocation.
+ */
+public class Deadline {
+    private static final long MIN_API_CALL_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int YIELD_CALLBACK_DELAY_SECONDS = 1;
+
+    private final long deadlineNanos;
+
+    public Deadline(final long now, final Duration invocationTimeout, final Duration reserve) {
+        this.deadlineNanos = now + invocationTimeout.toNanos() - reserve.toNanos();
+    }
+
+    static Deadline fromSettings(final HandlerSettings settings) {
+        return new Deadline(System.nanoTime(), settings.getInvocationTimeout(), settings.getInvocationTimeReserve());
+    }
+
+    /**
+     * remainingNanos
+     * <p>
+     * Time left before the deadline, 0 once it has passed.
+     */
+    long remainingNanos(final long now) {
+        return Math.max(0, deadlineNanos - now);
+    }
+
+    boolean isExpired(final long now) {
+        return remainingNanos(now) == 0;
+    }
+
+    /**
+     * within
+     * <p>
+     * The nanoTime at which a budget that starts now ends, brought forward to the deadline when that comes first.
+     */
+    long within(final long now, final Duration budget) {
+        return Math.min(now + budget.toNanos(), deadlineNanos);
+    }
+
+    /**
+     * withApiCallTimeout
+     * <p>
+     * Copies the request with the time left as its apiCallTimeout, so the SDK, retries included, gives up before the
+     * invocation does. The call still gets at least a second when the deadline has already passed.
+     */
+    @SuppressWarnings("unchecked")
+    <RequestT extends AwsRequest> RequestT withApiCallTimeout(final RequestT request) {
+        final Duration apiCallTimeout = Duration.ofNanos(Math.max(MIN_API_CALL_TIMEOUT_NANOS, remainingNanos(System.nanoTime())));
+        // keeps the credentials the proxy put on the request
+        final AwsRequestOverrideConfiguration overrideConfiguration = request.overrideConfiguration()
+                .map(AwsRequestOverrideConfiguration::toBuilder)
+                .orElseGet(AwsRequestOverrideConfiguration::builder)
+                .apiCallTimeout(apiCallTimeout)
+                .build();
+        return (RequestT) request.toBuilder().overrideConfiguration(overrideConfiguration).build();
+    }
+
+    /**
+     * step
+     * <p>
+     * Runs the chain step only while there is time left, otherwise hands the progress so far back to CloudFormation
+     * to be called back right away.
+     */
+    Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> step(
+            final Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> step) {
+        return progressEvent -> isExpired(System.nanoTime()) ?
+                handBack(progressEvent.getResourceModel(), progressEvent.getCallbackContext()) :
+                step.apply(progressEvent);
+    }
+
+    /**
+     * stepOrFail
+     * <p>
+     * Like step, for the Read handler, which may not return IN_PROGRESS: a step that would start after the deadline
+     * fails with ServiceInternalError instead, which Create and Update retry through a callback.
+     */
+    Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> stepOrFail(
+            final Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> step) {
+        return progressEvent -> isExpired(System.nanoTime()) ?
+                ProgressEvent.failed(progressEvent.getResourceModel(), progressEvent.getCallbackContext(),
+                        HandlerErrorCode.ServiceInternalError, "The invocation ran out of time before the next call") :
+                step.apply(progressEvent);
+    }
+
+    /**
+     * handBack
+     * <p>
+     * Hands the progress so far back to CloudFormation to be called back right away, for a step the deadline cut off.
+     */
+    static ProgressEvent<ResourceModel, CallbackContext> handBack(final ResourceModel model, final CallbackContext callbackContext) {
+        return ProgressEvent.defaultInProgressHandler(callbackContext, YIELD_CALLBACK_DELAY_SECONDS, model);
+    }
+}
@@ -2,10 +2,7 @@ package software.amazon.bedrock.applicationinferenceprofile;
 
 import software.amazon.awssdk.services.bedrock.BedrockClient;
 
-import software.amazon.awssdk.services.bedrock.model.DeleteInferenceProfileRequest;
-import software.amazon.awssdk.services.bedrock.model.DeleteInferenceProfileResponse;
 import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
-import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
 import software.amazon.awssdk.services.bedrock.model.ResourceNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
@@ -14,54 +11,92 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class DeleteHandler extends BaseHandlerStd {
-    private Logger logger;
+    public DeleteHandler() {
+        super();
+    }
+
+    public DeleteHandler(final HandlerSettings settings) {
+        super(settings);
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final ProxyClient<BedrockClient> proxyClient,
+            final Deadline deadline,
             final Logger logger) {
 
-        this.logger = logger;
-
         logger.log(String.format("Handling DeleteHandler request for AccountId %s", request.getAwsAccountId()));
 
-        return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(progress ->
-                        deleteInferenceProfile(proxy, proxyClient, progress))
+        final StabilizationStrategy strategy = StabilizationStrategy.fromSettings(settings);
+        final String credentialScope = CredentialScope.of(proxyClient);
+        final StatusPoller statusPoller = StatusPoller.of(request.getAwsAccountId(), request.getRegion(),
+                credentialScope, settings);
+        final String cacheScope = CredentialScope.keyPrefix(request.getAwsAccountId(), request.getRegion(), credentialScope);
+        // set once DeleteInferenceProfile succeeded, re-invocations only wait for the profile to disappear
+        final boolean deleteRequested = callbackContext.getPendingInferenceProfileArn() != null;
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
+                .then(deadline.step(progress -> deleteRequested ?
+                        progress :
+                        deleteInferenceProfile(proxy, proxyClient, progress, strategy, cacheScope)))
+                .then(deadline.step(progress -> pollStabilization(proxyClient, progress, strategy, statusPoller, deadline, logger)))
                 .then(progress -> ProgressEvent.defaultSuccessHandler(null));
+        // throttling and internal errors come back through a callback instead of failing the operation
+        return RetryStrategy.fromSettings(settings).apply(event, request.getDesiredResourceState(), callbackContext, logger);
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> deleteInferenceProfile(final AmazonWebServicesClientProxy proxy,
                                                                                  final ProxyClient<BedrockClient> proxyClient,
-                                                                                 final ProgressEvent<ResourceModel, CallbackContext> progress) {
+                                                                                 final ProgressEvent<ResourceModel, CallbackContext> progress,
+                                                                                 final StabilizationStrategy strategy,
+                                                                                 final String cacheScope) {
         return proxy.initiate("AWS-Bedrock-ApplicationInferenceProfile::Delete", proxyClient,
                         progress.getResourceModel(), progress.getCallbackContext())
                 .translateToServiceRequest(Translator::translateToDeleteRequest)
-                .makeServiceCall((deleteModelGatewayRequest, client) ->
-                        client.injectCredentialsAndInvokeV2(deleteModelGatewayRequest, client.client()::deleteInferenceProfile))
-                .stabilize(this::isStabilized)
+                .makeServiceCall((deleteModelGatewayRequest, client) -> {
+                    try {
+                        return client.injectCredentialsAndInvokeV2(deleteModelGatewayRequest, client.client()::deleteInferenceProfile);
+                    } finally {
+                        ReadCache.invalidate(cacheScope, deleteModelGatewayRequest.inferenceProfileIdentifier());
+                    }
+                })
                 .handleError(BaseHandlerStd::handleError)
-                .progress();
+                .done((deleteInferenceProfileRequest, deleteInferenceProfileResponse, client, model, context) -> {
+                    strategy.start(context, deleteInferenceProfileRequest.inferenceProfileIdentifier());
+                    return ProgressEvent.progress(model, context);
+                });
     }
 
-    private boolean isStabilized(final DeleteInferenceProfileRequest deleteInferenceProfileRequest,
-                                 final DeleteInferenceProfileResponse deleteInferenceProfileResponse,
-                                 final ProxyClient<BedrockClient> client,
-                                 final ResourceModel model,
-                                 final CallbackContext callbackContext) {
+    /**
+     * Polls the status of the deleted profile once, batched with the other polls of the container. Deletion is
+     * complete once the profile is gone, otherwise CloudFormation is asked to call back after the next backoff delay,
+     * or right away when the deadline passed before the poll came back.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> pollStabilization(final ProxyClient<BedrockClient> proxyClient,
+                                                                            final ProgressEvent<ResourceModel, CallbackContext> progress,
+                                                                            final StabilizationStrategy strategy,
+                                                                            final StatusPoller statusPoller,
+                                                                            final Deadline deadline,
+                                                                            final Logger logger) {
+        final ResourceModel model = progress.getResourceModel();
+        final CallbackContext callbackContext = progress.getCallbackContext();
         final GetInferenceProfileRequest getInferenceProfileRequest = GetInferenceProfileRequest.builder()
-                .inferenceProfileIdentifier(deleteInferenceProfileRequest.inferenceProfileIdentifier())
+                .inferenceProfileIdentifier(callbackContext.getPendingInferenceProfileArn())
                 .build();
 
-        final GetInferenceProfileResponse getInferenceProfileResponse;
         try {
-            getInferenceProfileResponse = client.injectCredentialsAndInvokeV2(getInferenceProfileRequest,
-                    client.client()::getInferenceProfile);
+            if (statusPoller.poll(proxyClient, getInferenceProfileRequest.inferenceProfileIdentifier(), deadline) == null) {
+                return Deadline.handBack(model, callbackContext);
+            }
         } catch (final ResourceNotFoundException e) {
-            return true;
+            logger.log(String.format("%s [%s] has been deleted.", ResourceModel.TYPE_NAME,
+                    callbackContext.getPendingInferenceProfileArn()));
+            return ProgressEvent.progress(model, callbackContext);
+        } catch (final Exception e) {
+            return handleError(getInferenceProfileRequest, e, proxyClient, model, callbackContext);
         }
-        return false;
+        return strategy.awaitNextPoll(model, callbackContext);
     }
 }
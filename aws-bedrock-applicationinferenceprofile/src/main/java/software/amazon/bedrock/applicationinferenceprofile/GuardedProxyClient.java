@@ -0,0 +1,285 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.InternalServerException;
+import software.amazon.awssdk.services.bedrock.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * ProxyClient that BaseHandlerStd hands to the handlers, guarding every Bedrock call made through it.
+ * <p>
+ * Calls of an API are rate limited per account and region when HandlerSettings.apiRateLimits has a rate for it, and
+ * go through a circuit breaker per region and API unless circuitBreakerWindow is null. With hedgeReads on, slow
+ * reads are hedged with a second attempt (see HedgedReads). Token buckets, breakers and latency profiles live as long
+ * as the container, so all invocations and threads of a warm container share them: the buckets slow down when
+ * Bedrock throttles, and an open breaker fails calls with CircuitOpenException without sending them. Every call is
+ * also bounded by the Deadline of the invocation. Only injectCredentialsAndInvokeV2 calls are supported.
+ */
+public class GuardedProxyClient implements ProxyClient<BedrockClient> {
+    private static final String ALL_APIS = "*";
+    private static final String REQUEST_SUFFIX = "Request";
+    private static final ConcurrentMap<String, TokenBucket> RATE_LIMITS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CircuitBreaker> CIRCUITS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, HedgedReads> HEDGES = new ConcurrentHashMap<>();
+    // only reads are hedged, a duplicate of any other call could change the resource twice
+    private static final Set<String> HEDGED_APIS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "GetInferenceProfile",
+            "ListInferenceProfiles",
+            "ListTagsForResource")));
+
+    private final ProxyClient<BedrockClient> delegate;
+    private final String awsAccountId;
+    private final String region;
+    private final HandlerSettings settings;
+    private final Deadline deadline;
+
+    public GuardedProxyClient(final ProxyClient<BedrockClient> delegate,
+                              final String awsAccountId,
+                              final String region,
+                              final HandlerSettings settings,
+                              final Deadline deadline) {
+        this.delegate = delegate;
+        this.awsAccountId = awsAccountId;
+        this.region = region;
+        this.settings = settings;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        // the timeout goes on the request the proxy hands over, which already carries the credentials
+        return guard(request, () -> delegate.injectCredentialsAndInvokeV2(request,
+                wrappedRequest -> requestFunction.apply(deadline.withApiCallTimeout(wrappedRequest))));
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+    injectCredentialsAndInvokeV2Async(final RequestT request, final Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        throw unguarded("injectCredentialsAndInvokeV2Async");
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>> IterableT
+    injectCredentialsAndInvokeIterableV2(final RequestT request, final Function<RequestT, IterableT> requestFunction) {
+        throw unguarded("injectCredentialsAndInvokeIterableV2");
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+    injectCredentialsAndInvokeV2InputStream(final RequestT request, final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+        throw unguarded("injectCredentialsAndInvokeV2InputStream");
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+    injectCredentialsAndInvokeV2Bytes(final RequestT request, final Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+        throw unguarded("injectCredentialsAndInvokeV2Bytes");
+    }
+
+    @Override
+    public BedrockClient client() {
+        return delegate.client();
+    }
+
+    ProxyClient<BedrockClient> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * unguarded
+     * <p>
+     * The handlers only make synchronous calls through injectCredentialsAndInvokeV2. The other ways of calling would
+     * get past the rate limits, the circuit breakers and the deadline, so they fail instead of going out unguarded.
+     */
+    private static UnsupportedOperationException unguarded(final String method) {
+        return new UnsupportedOperationException(String.format(
+                "%s is not guarded, call Bedrock through injectCredentialsAndInvokeV2", method));
+    }
+
+    private <T> T guard(final AwsRequest request, final Supplier<T> call) {
+        final String api = apiName(request);
+        final CircuitBreaker circuit = circuit(api);
+        if (circuit != null) {
+            final long retryAfterNanos = circuit.tryAcquire(System.nanoTime());
+            if (retryAfterNanos > 0) {
+                throw new CircuitOpenException(api, Duration.ofNanos(retryAfterNanos));
+            }
+        }
+        final TokenBucket rateLimit = rateLimit(api);
+        final HedgedReads hedge = hedge(api);
+        boolean failed = false;
+        boolean skipped = false;
+        try {
+            if (hedge != null) {
+                return hedge.call(() -> attempt(api, rateLimit, hedge, call));
+            }
+            return attempt(api, rateLimit, null, call);
+        } catch (final RuntimeException e) {
+            // an interrupted caller gave up on the call, however it ended
+            final boolean interrupted = Thread.currentThread().isInterrupted();
+            failed = !interrupted && isServiceFailure(e, deadline.isExpired(System.nanoTime()));
+            skipped = !failed && (interrupted || isThrottled(e) || e instanceof SdkClientException);
+            throw e;
+        } finally {
+            if (circuit != null) {
+                if (failed) {
+                    circuit.onFailure(System.nanoTime());
+                } else if (skipped) {
+                    // a throttled, rate limited or cut off call says nothing about the health of the endpoint
+                    circuit.onSkipped();
+                } else {
+                    circuit.onSuccess(System.nanoTime());
+                }
+            }
+        }
+    }
+
+    /**
+     * attempt
+     * <p>
+     * Sends the call once. Every attempt takes its own permit, so hedged reads count against the rate limit too, and
+     * waits for it no longer than the deadline allows.
+     */
+    private <T> T attempt(final String api, final TokenBucket rateLimit, final HedgedReads hedge, final Supplier<T> call) {
+        if (rateLimit != null) {
+            rateLimit.acquire(api, deadline.remainingNanos(System.nanoTime()));
+        }
+        try {
+            final T result = call.get();
+            if (rateLimit != null) {
+                rateLimit.onSuccess();
+            }
+            return result;
+        } catch (final RuntimeException e) {
+            if (isThrottled(e)) {
+                if (rateLimit != null) {
+                    rateLimit.onThrottled();
+                }
+                if (hedge != null) {
+                    hedge.onThrottled(System.nanoTime());
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * hedge
+     * <p>
+     * The hedging state of the API in this region, or null when its calls are not hedged.
+     */
+    HedgedReads hedge(final String api) {
+        if (!settings.isHedgeReads() || !HEDGED_APIS.contains(api)) {
+            return null;
+        }
+        return HEDGES.computeIfAbsent(String.join("/", region, api),
+                key -> new HedgedReads(settings.getHedgeRateCap(), settings.getHedgeMinDelay()));
+    }
+
+    /**
+     * circuit
+     * <p>
+     * The circuit breaker of the API in this region, or null when circuit breaking is off.
+     */
+    CircuitBreaker circuit(final String api) {
+        if (settings.getCircuitBreakerWindow() == null) {
+            return null;
+        }
+        return CIRCUITS.computeIfAbsent(String.join("/", region, api),
+                key -> new CircuitBreaker(
+                        settings.getCircuitBreakerWindow(),
+                        settings.getCircuitBreakerMinimumCalls(),
+                        settings.getCircuitBreakerFailureRate(),
+                        settings.getCircuitBreakerOpenDuration()));
+    }
+
+    /**
+     * rateLimit
+     * <p>
+     * The token bucket of the API for this account and region, or null when the API is not rate limited.
+     */
+    TokenBucket rateLimit(final String api) {
+        Double permitsPerSecond = settings.getApiRateLimits().get(api);
+        if (permitsPerSecond == null) {
+            permitsPerSecond = settings.getApiRateLimits().get(ALL_APIS);
+        }
+        if (permitsPerSecond == null) {
+            return null;
+        }
+        final double rate = permitsPerSecond;
+        return RATE_LIMITS.computeIfAbsent(String.join("/", awsAccountId, region, api, Double.toString(rate)),
+                key -> new TokenBucket(rate, settings.getRateLimitMaxWait(), System.nanoTime()));
+    }
+
+    /**
+     * apiName
+     * <p>
+     * The Bedrock API a request is for, GetInferenceProfile for a GetInferenceProfileRequest.
+     */
+    static String apiName(final AwsRequest request) {
+        final String name = request.getClass().getSimpleName();
+        return name.endsWith(REQUEST_SUFFIX) ? name.substring(0, name.length() - REQUEST_SUFFIX.length()) : name;
+    }
+
+    static boolean isThrottled(final Throwable e) {
+        return e instanceof ThrottlingException
+                || e instanceof AwsServiceException && ((AwsServiceException) e).isThrottlingException();
+    }
+
+    /**
+     * isServiceFailure
+     * <p>
+     * Errors that tell the endpoint is unhealthy: 5xx responses, and calls that got no response because of a
+     * transport error. A call cut off by the apiCallTimeout once the deadline has passed, or by an interrupt such as
+     * the one that cancels a losing hedged attempt, says nothing about the endpoint.
+     */
+    static boolean isServiceFailure(final Throwable e, final boolean deadlineExpired) {
+        if (e instanceof AwsServiceException) {
+            return ((AwsServiceException) e).statusCode() >= 500 || e instanceof InternalServerException;
+        }
+        if (!(e instanceof SdkClientException)) {
+            return false;
+        }
+        if (e instanceof ApiCallTimeoutException) {
+            return !deadlineExpired;
+        }
+        return !isInterrupted(e);
+    }
+
+    private static boolean isInterrupted(final Throwable e) {
+        if (e instanceof AbortedException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof ClosedByInterruptException
+                    // a socket timeout is an InterruptedIOException too, but a real transport error
+                    || cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
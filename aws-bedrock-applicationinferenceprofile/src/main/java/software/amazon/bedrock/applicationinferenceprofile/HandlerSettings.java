@@ -0,0 +1,321 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tunables shared by the handlers.
+ * <p>
+ * HandlerWrapper builds every handler with {@link #DEPLOYED}, the defaults overridden by the environment variables of
+ * the function (see {@link #fromEnvironment}). Tests and hosts that embed the handlers can pass their own settings
+ * through the handler constructors.
+ */
+@lombok.Value
+@lombok.Builder(toBuilder = true)
+public class HandlerSettings {
+    static final String LIST_PROJECTION = "LIST_PROJECTION";
+    static final String LIST_SNAPSHOT_TTL_SECONDS = "LIST_SNAPSHOT_TTL_SECONDS";
+    static final String READ_CACHE_TTL_SECONDS = "READ_CACHE_TTL_SECONDS";
+    static final String API_RATE_LIMITS = "API_RATE_LIMITS";
+    static final String INVOCATION_TIMEOUT_SECONDS = "INVOCATION_TIMEOUT_SECONDS";
+    static final String HEDGE_READS = "HEDGE_READS";
+    static final String VERIFY_CREATE_WITH_READ = "VERIFY_CREATE_WITH_READ";
+    static final String VERIFY_UPDATE_WITH_READ = "VERIFY_UPDATE_WITH_READ";
+
+    public static final HandlerSettings DEFAULT = HandlerSettings.builder().build();
+    public static final HandlerSettings DEPLOYED = fromEnvironment(System.getenv());
+
+    /**
+     * Finish Create with a full ReadHandler call instead of building the model from the stabilization response.
+     * Set by VERIFY_CREATE_WITH_READ in a deployment.
+     */
+    @lombok.Builder.Default
+    boolean verifyCreateWithRead = false;
+
+    /**
+     * Finish Update with a full ReadHandler call instead of applying the tag changes to the previous resource state.
+     * Set by VERIFY_UPDATE_WITH_READ in a deployment.
+     */
+    @lombok.Builder.Default
+    boolean verifyUpdateWithRead = false;
+
+    /**
+     * First delay between stabilization polls, doubled on every further poll.
+     */
+    @lombok.Builder.Default
+    Duration stabilizationBaseDelay = Duration.ofSeconds(2);
+
+    /**
+     * Cap on the delay between two stabilization polls.
+     */
+    @lombok.Builder.Default
+    Duration stabilizationMaxDelay = Duration.ofSeconds(30);
+
+    /**
+     * Time budget for a resource to stabilize before the handler reports NotStabilized.
+     */
+    @lombok.Builder.Default
+    Duration stabilizationTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Most tags or tag keys sent in one TagResource or UntagResource call.
+     */
+    @lombok.Builder.Default
+    int tagChunkSize = 50;
+
+    /**
+     * Time a List invocation may spend following nextToken to fill up to maxResults.
+     */
+    @lombok.Builder.Default
+    Duration listTimeBudget = Duration.ofSeconds(20);
+
+    /**
+     * Most ListTagsForResource calls a List invocation has in flight when it fills in tags.
+     */
+    @lombok.Builder.Default
+    int listTagsConcurrency = 8;
+
+    /**
+     * Properties each listed model carries next to its primary identifier.
+     */
+    @lombok.Builder.Default
+    ListProjection listProjection = ListProjection.ALL;
+
+    /**
+     * How long a List snapshot answers the nextTokens handed out with it. Null lists every page live. Set by
+     * LIST_SNAPSHOT_TTL_SECONDS in a deployment.
+     */
+    @lombok.Builder.Default
+    Duration listSnapshotTtl = null;
+
+    /**
+     * Most profiles the List snapshots of a container hold together. A larger listing is served live.
+     */
+    @lombok.Builder.Default
+    int listSnapshotMaxProfiles = 20_000;
+
+    /**
+     * How long Read may answer from GetInferenceProfile and ListTagsForResource responses cached in the container.
+     * Null reads every profile from Bedrock. Set by READ_CACHE_TTL_SECONDS in a deployment.
+     */
+    @lombok.Builder.Default
+    Duration readCacheTtl = null;
+
+    /**
+     * Most profiles the read cache holds before it evicts the least recently used one.
+     */
+    @lombok.Builder.Default
+    int readCacheMaxEntries = 1_000;
+
+    /**
+     * Calls per second each Bedrock API may receive from a container per account and region, by API name such as
+     * GetInferenceProfile, or "*" for every API without a rate of its own. APIs without a rate are not limited.
+     * Set by API_RATE_LIMITS in a deployment.
+     */
+    @lombok.Builder.Default
+    Map<String, Double> apiRateLimits = Collections.emptyMap();
+
+    /**
+     * Longest a call waits for its rate limit before it is failed as throttled.
+     */
+    @lombok.Builder.Default
+    Duration rateLimitMaxWait = Duration.ofSeconds(10);
+
+    /**
+     * Throttling or internal errors in a row that Create, Update and Delete retry through a callback before failing.
+     */
+    @lombok.Builder.Default
+    int maxTransientRetries = 5;
+
+    /**
+     * Shortest callback delay after a throttling or internal error.
+     */
+    @lombok.Builder.Default
+    Duration transientRetryBaseDelay = Duration.ofSeconds(2);
+
+    /**
+     * Cap on the callback delay after a throttling or internal error.
+     */
+    @lombok.Builder.Default
+    Duration transientRetryMaxDelay = Duration.ofSeconds(60);
+
+    /**
+     * Time over which the circuit breaker of a Bedrock API weighs failures. Null turns circuit breaking off.
+     */
+    @lombok.Builder.Default
+    Duration circuitBreakerWindow = Duration.ofSeconds(30);
+
+    /**
+     * Fewest calls in the window before the failure rate may open the circuit.
+     */
+    @lombok.Builder.Default
+    int circuitBreakerMinimumCalls = 20;
+
+    /**
+     * Share of failed calls in the window that opens the circuit.
+     */
+    @lombok.Builder.Default
+    double circuitBreakerFailureRate = 0.5;
+
+    /**
+     * How long an open circuit rejects calls before it lets a probe through.
+     */
+    @lombok.Builder.Default
+    Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
+
+    /**
+     * Whether a GetInferenceProfile, ListInferenceProfiles or ListTagsForResource call still unanswered after the
+     * recent p95 latency of the API is raced by a second attempt. Set by HEDGE_READS in a deployment.
+     */
+    @lombok.Builder.Default
+    boolean hedgeReads = false;
+
+    /**
+     * Share of the reads of an API that may be hedged.
+     */
+    @lombok.Builder.Default
+    double hedgeRateCap = 0.05;
+
+    /**
+     * Shortest time to wait for the first attempt before hedging, however fast the API has been.
+     */
+    @lombok.Builder.Default
+    Duration hedgeMinDelay = Duration.ofMillis(50);
+
+    /**
+     * Time one handler invocation may run. The proxy does not expose the remaining time of the Lambda context, so the
+     * Deadline counts it from the start of handleRequest. Set by INVOCATION_TIMEOUT_SECONDS in a deployment, which
+     * template.yml fills in from the Timeout of the function.
+     */
+    @lombok.Builder.Default
+    Duration invocationTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Part of invocationTimeout kept back to save progress and return; no step or call starts within it.
+     */
+    @lombok.Builder.Default
+    Duration invocationTimeReserve = Duration.ofSeconds(5);
+
+    /**
+     * Number of profiles waiting to stabilize in a container, for the same account and region, from which their
+     * status polls are answered by one ListInferenceProfiles sweep instead of a GetInferenceProfile each.
+     */
+    @lombok.Builder.Default
+    int statusPollBatchThreshold = 10;
+
+    /**
+     * How long the profile name to ARN index used to recover a conflicting create trusts an entry.
+     */
+    @lombok.Builder.Default
+    Duration profileNameIndexTtl = Duration.ofMinutes(5);
+
+    /**
+     * Most profile names the index keeps per container.
+     */
+    @lombok.Builder.Default
+    int profileNameIndexMaxEntries = 10_000;
+
+    /**
+     * fromEnvironment
+     * <p>
+     * DEFAULT with the settings the environment sets:
+     * <ul>
+     *     <li>LIST_PROJECTION: comma separated schema properties each listed model carries, empty for the primary
+     *     identifier only</li>
+     *     <li>LIST_SNAPSHOT_TTL_SECONDS: listSnapshotTtl in whole seconds, 0 lists every page live</li>
+     *     <li>READ_CACHE_TTL_SECONDS: readCacheTtl in whole seconds, 0 leaves the read cache off</li>
+     *     <li>API_RATE_LIMITS: apiRateLimits as comma separated API=rate pairs, for instance
+     *     "GetInferenceProfile=10,*=5"</li>
+     *     <li>INVOCATION_TIMEOUT_SECONDS: invocationTimeout in whole seconds, the Timeout of the function</li>
+     *     <li>HEDGE_READS, VERIFY_CREATE_WITH_READ, VERIFY_UPDATE_WITH_READ: hedgeReads, verifyCreateWithRead and
+     *     verifyUpdateWithRead, true or false</li>
+     * </ul>
+     * A malformed value throws, so the function fails at startup rather than run with settings nobody asked for.
+     */
+    static HandlerSettings fromEnvironment(final Map<String, String> environment) {
+        final HandlerSettingsBuilder builder = DEFAULT.toBuilder();
+        final String listProjection = environment.get(LIST_PROJECTION);
+        if (listProjection != null) {
+            builder.listProjection(ListProjection.parse(listProjection));
+        }
+        final Duration listSnapshotTtl = seconds(environment, LIST_SNAPSHOT_TTL_SECONDS);
+        if (listSnapshotTtl != null) {
+            builder.listSnapshotTtl(listSnapshotTtl.isZero() ? null : listSnapshotTtl);
+        }
+        final Duration readCacheTtl = seconds(environment, READ_CACHE_TTL_SECONDS);
+        if (readCacheTtl != null) {
+            builder.readCacheTtl(readCacheTtl.isZero() ? null : readCacheTtl);
+        }
+        final Duration invocationTimeout = seconds(environment, INVOCATION_TIMEOUT_SECONDS);
+        if (invocationTimeout != null) {
+            if (invocationTimeout.compareTo(DEFAULT.getInvocationTimeReserve()) <= 0) {
+                throw new IllegalArgumentException(String.format("%s must leave more than the %s reserve, was %s",
+                        INVOCATION_TIMEOUT_SECONDS, DEFAULT.getInvocationTimeReserve(), invocationTimeout));
+            }
+            builder.invocationTimeout(invocationTimeout);
+        }
+        final String apiRateLimits = environment.get(API_RATE_LIMITS);
+        if (apiRateLimits != null) {
+            builder.apiRateLimits(rates(apiRateLimits));
+        }
+        final Boolean hedgeReads = flag(environment, HEDGE_READS);
+        if (hedgeReads != null) {
+            builder.hedgeReads(hedgeReads);
+        }
+        final Boolean verifyCreateWithRead = flag(environment, VERIFY_CREATE_WITH_READ);
+        if (verifyCreateWithRead != null) {
+            builder.verifyCreateWithRead(verifyCreateWithRead);
+        }
+        final Boolean verifyUpdateWithRead = flag(environment, VERIFY_UPDATE_WITH_READ);
+        if (verifyUpdateWithRead != null) {
+            builder.verifyUpdateWithRead(verifyUpdateWithRead);
+        }
+        return builder.build();
+    }
+
+    private static Map<String, Double> rates(final String value) {
+        final Map<String, Double> rates = new LinkedHashMap<>();
+        for (final String pair : value.split(",")) {
+            if (pair.trim().isEmpty()) {
+                continue;
+            }
+            final String[] apiAndRate = pair.split("=", 2);
+            final double rate = apiAndRate.length == 2 ? Double.parseDouble(apiAndRate[1].trim()) : Double.NaN;
+            if (apiAndRate[0].trim().isEmpty() || !(rate > 0) || Double.isInfinite(rate)) {
+                throw new IllegalArgumentException(String.format(
+                        "%s must be comma separated API=rate pairs with positive rates, was %s", API_RATE_LIMITS, value));
+            }
+            rates.put(apiAndRate[0].trim(), rate);
+        }
+        return Collections.unmodifiableMap(rates);
+    }
+
+    private static Boolean flag(final Map<String, String> environment, final String name) {
+        final String value = environment.get(name);
+        if (value == null) {
+            return null;
+        }
+        // Boolean.parseBoolean would read a typo as false
+        if ("true".equalsIgnoreCase(value.trim())) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value.trim())) {
+            return false;
+        }
+        throw new IllegalArgumentException(String.format("%s must be true or false, was %s", name, value));
+    }
+
+    private static Duration seconds(final Map<String, String> environment, final String name) {
+        final String value = environment.get(name);
+        if (value == null) {
+            return null;
+        }
+        final Duration duration = Duration.ofSeconds(Long.parseLong(value.trim()));
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(String.format("%s must not be negative, was %s", name, value));
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,186 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Hedges the idempotent reads of one Bedrock API: when the first attempt has not answered within the recent p95
+ * latency of the API, a second attempt is sent and whichever answers first wins.
+ * <p>
+ * Latencies of the last 128 successful attempts are kept; until 20 are known nothing is hedged. Hedges are capped
+ * to a share of the calls, and stop for 30 seconds after the API throttled, so they never add load when Bedrock is
+ * already pushing back. Once the call is settled the losing attempt is interrupted and its result dropped. A client
+ * that does not notice the interrupt still gives up at the apiCallTimeout GuardedProxyClient puts on every attempt,
+ * which ends at the Deadline, so like the AsyncHelper calls no attempt outlives the invocation that started it.
+ * Attempts run on a pool of their own, since callers may already be running on the AsyncHelper pool.
+ */
+public class HedgedReads {
+    private static final int SAMPLES = 128;
+    private static final int MIN_SAMPLES = 20;
+    private static final double PERCENTILE = 0.95;
+    private static final long THROTTLE_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long MAX_COUNTED_CALLS = 1_000;
+    private static final int MAX_THREADS = 32;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(0, MAX_THREADS, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "bedrock-aip-hedge-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final double hedgeRateCap;
+    private final long minDelayNanos;
+
+    private final long[] latencies = new long[SAMPLES];
+    private int samples;
+    private int nextSample;
+    private long calls;
+    private long hedges;
+    private long throttledUntil;
+
+    public HedgedReads(final double hedgeRateCap, final Duration minDelay) {
+        this.hedgeRateCap = hedgeRateCap;
+        this.minDelayNanos = minDelay.toNanos();
+    }
+
+    /**
+     * call
+     * <p>
+     * Runs the read, hedged when the API has a latency profile and the hedge budget allows it. The result or the
+     * exception is the one of the first attempt that succeeded, or of the last one that failed.
+     */
+    public <T> T call(final Supplier<T> attempt) {
+        final long hedgeDelay = hedgeDelayNanos(System.nanoTime());
+        if (hedgeDelay < 0) {
+            return timed(attempt);
+        }
+
+        final CompletableFuture<T> winner = new CompletableFuture<>();
+        // attempts still out that have not succeeded, the last one to fail settles the call
+        final AtomicInteger pending = new AtomicInteger(1);
+        final AtomicReference<Throwable> lastFailure = new AtomicReference<>();
+        final List<Future<?>> attempts = new ArrayList<>(2);
+        final Future<?> first = submit(attempt, winner, pending, lastFailure);
+        if (first == null) {
+            return timed(attempt);
+        }
+        attempts.add(first);
+        try {
+            winner.get(hedgeDelay, TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            // a first attempt that failed in the meantime has settled the call, it is not hedged any more
+            if (!winner.isDone() && pending.compareAndSet(1, 2)) {
+                final Future<?> hedge = tryHedge() ? submit(attempt, winner, pending, lastFailure) : null;
+                if (hedge != null) {
+                    attempts.add(hedge);
+                } else {
+                    release(winner, pending, lastFailure);
+                }
+            }
+        } catch (final ExecutionException e) {
+            // rethrown by the join below
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            return AsyncHelper.join(winner);
+        } finally {
+            attempts.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * onThrottled
+     * <p>
+     * Pauses hedging of the API for a while.
+     */
+    public synchronized void onThrottled(final long now) {
+        throttledUntil = now + THROTTLE_PAUSE_NANOS;
+    }
+
+    /**
+     * hedgeDelayNanos
+     * <p>
+     * How long to wait for the first attempt before hedging, or -1 when the call is not to be hedged.
+     */
+    synchronized long hedgeDelayNanos(final long now) {
+        calls++;
+        if (calls > MAX_COUNTED_CALLS) {
+            // older calls weigh half, so the cap follows the recent traffic
+            calls /= 2;
+            hedges /= 2;
+        }
+        if (samples < MIN_SAMPLES || now < throttledUntil) {
+            return -1;
+        }
+        final long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        return Math.max(minDelayNanos, sorted[(int) Math.ceil(PERCENTILE * samples) - 1]);
+    }
+
+    synchronized boolean tryHedge() {
+        if (hedges + 1 > calls * hedgeRateCap) {
+            return false;
+        }
+        hedges++;
+        return true;
+    }
+
+    synchronized void recordLatency(final long latencyNanos) {
+        latencies[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % SAMPLES;
+        samples = Math.min(samples + 1, SAMPLES);
+    }
+
+    private <T> T timed(final Supplier<T> attempt) {
+        final long start = System.nanoTime();
+        final T result = attempt.get();
+        recordLatency(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Starts the attempt on the hedging pool, or returns null when the pool is full.
+     */
+    private <T> Future<?> submit(final Supplier<T> attempt,
+                                 final CompletableFuture<T> winner,
+                                 final AtomicInteger pending,
+                                 final AtomicReference<Throwable> lastFailure) {
+        try {
+            return EXECUTOR.submit(() -> {
+                try {
+                    winner.complete(timed(attempt));
+                } catch (final RuntimeException | Error e) {
+                    lastFailure.set(e);
+                    release(winner, pending, lastFailure);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private static <T> void release(final CompletableFuture<T> winner,
+                                    final AtomicInteger pending,
+                                    final AtomicReference<Throwable> lastFailure) {
+        if (pending.decrementAndGet() == 0) {
+            winner.completeExceptionally(lastFailure.get());
+        }
+    }
+}
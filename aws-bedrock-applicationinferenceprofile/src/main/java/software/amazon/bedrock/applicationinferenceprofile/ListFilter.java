@@ -0,0 +1,118 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileModel;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
+
+/**
+ * Filters of a List request, taken from the properties set on the listed model.
+ * <p>
+ * InferenceProfileName matches as a prefix, Status as an exact value and Models when the profile routes to at least
+ * one of the given model ARNs. These are checked on the summaries, before anything is translated. Tags, even an empty
+ * list, ask for the tags of every matching profile; each given key/value pair must then be attached to the profile.
+ * Filter values are kept sorted, so equal filters print the same.
+ */
+@lombok.ToString
+public class ListFilter {
+    private final String namePrefix;
+    private final String status;
+    private final Set<String> modelArns;
+    private final Map<String, String> tags;
+    private final boolean listTags;
+
+    private ListFilter(final ResourceModel model) {
+        this.namePrefix = model.getInferenceProfileName();
+        this.status = model.getStatus();
+        this.modelArns = modelArnsOf(model.getModels());
+        this.tags = tagsOf(model.getTags());
+        this.listTags = model.getTags() != null;
+    }
+
+    static ListFilter fromModel(final ResourceModel model) {
+        return new ListFilter(model == null ? ResourceModel.builder().build() : model);
+    }
+
+    /**
+     * isListTags
+     * <p>
+     * Whether the tags of the listed profiles are needed, to return them or to match them.
+     */
+    boolean isListTags() {
+        return listTags;
+    }
+
+    /**
+     * matches
+     * <p>
+     * Checks the filters a summary carries the data for.
+     */
+    boolean matches(final InferenceProfileSummary summary) {
+        if (namePrefix != null && (summary.inferenceProfileName() == null || !summary.inferenceProfileName().startsWith(namePrefix))) {
+            return false;
+        }
+        if (status != null && !status.equals(summary.statusAsString())) {
+            return false;
+        }
+        if (!modelArns.isEmpty()) {
+            for (final InferenceProfileModel model : summary.models()) {
+                if (modelArns.contains(model.modelArn())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * matchesTags
+     * <p>
+     * Checks the tag filter against the tags listed for a profile.
+     */
+    boolean matchesTags(final List<Tag> profileTags) {
+        if (tags.isEmpty()) {
+            return true;
+        }
+        if (profileTags == null) {
+            return false;
+        }
+        int matched = 0;
+        for (final Tag tag : profileTags) {
+            if (tags.containsKey(tag.getKey()) && tags.get(tag.getKey()).equals(tag.getValue())) {
+                matched++;
+            }
+        }
+        return matched == tags.size();
+    }
+
+    private static Set<String> modelArnsOf(final List<software.amazon.bedrock.applicationinferenceprofile.InferenceProfileModel> models) {
+        if (models == null || models.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Set<String> modelArns = new TreeSet<>();
+        for (final software.amazon.bedrock.applicationinferenceprofile.InferenceProfileModel model : models) {
+            if (model.getModelArn() != null) {
+                modelArns.add(model.getModelArn());
+            }
+        }
+        return modelArns;
+    }
+
+    private static Map<String, String> tagsOf(final List<Tag> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> tagMap = new TreeMap<>();
+        for (final Tag tag : tags) {
+            if (tag.getKey() != null && tag.getValue() != null) {
+                tagMap.put(tag.getKey(), tag.getValue());
+            }
+        }
+        return tagMap;
+    }
+}
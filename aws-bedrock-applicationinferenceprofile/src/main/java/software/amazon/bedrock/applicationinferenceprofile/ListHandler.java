@@ -1,8 +1,17 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
 import software.amazon.awssdk.services.bedrock.model.InferenceProfileType;
-import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesRequest;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesResponse;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.bedrock.model.ResourceNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -11,13 +20,23 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class ListHandler extends BaseHandlerStd {
+    private static final int SNAPSHOT_PAGE_SIZE = 1000;
+    private static final ListSnapshotCache SNAPSHOTS = new ListSnapshotCache();
 
-    @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    public ListHandler() {
+        super();
+    }
+
+    public ListHandler(final HandlerSettings settings) {
+        super(settings);
+    }
+
+    protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final ProxyClient<BedrockClient> proxyClient,
+            final Deadline deadline,
             final Logger logger) {
 
         logger.log(String.format("Handling ListHandler request for AccountId %s", request.getAwsAccountId()));
@@ -26,20 +45,234 @@ public class ListHandler extends BaseHandlerStd {
         final String type = request.getDesiredResourceState().getType() == null
                 ? InferenceProfileType.APPLICATION.toString()
                 : request.getDesiredResourceState().getType();
+        final ListFilter filter = ListFilter.fromModel(request.getDesiredResourceState());
+        // pages are only fetched while both the list budget and the invocation have time left
+        final long pageDeadline = deadline.within(System.nanoTime(), settings.getListTimeBudget());
+        final ListSnapshot.Cursor cursor = ListSnapshot.Cursor.decode(request.getNextToken());
+
+        // tags are listed per profile and change on their own, so listings with tags are never snapshotted
+        if (settings.getListSnapshotTtl() != null && !filter.isListTags()) {
+            final String key = ListSnapshotCache.key(request.getAwsAccountId(), request.getRegion(), type, filter,
+                    settings.getListProjection());
+            if (request.getNextToken() == null) {
+                return proxy.initiate("AWS-Bedrock-ApplicationInferenceProfile::List", proxyClient, request.getDesiredResourceState(), callbackContext)
+                        .translateToServiceRequest(resourceModel -> Translator.translateToListRequest(null, SNAPSHOT_PAGE_SIZE, type))
+                        .makeServiceCall((listInferenceProfileRequest, client) ->
+                                client.injectCredentialsAndInvokeV2(listInferenceProfileRequest, client.client()::listInferenceProfiles))
+                        .handleError(BaseHandlerStd::handleError)
+                        .done(listInferenceProfileResponse -> {
+                            final ListSnapshot snapshot = takeSnapshot(proxyClient, listInferenceProfileResponse, key, type,
+                                    filter, pageDeadline, logger);
+                            return listed(snapshot.page(0, maxResults), snapshot.nextToken(0, maxResults));
+                        });
+            }
+            if (cursor != null && cursor.getSnapshotId() != null) {
+                final ListSnapshot snapshot = SNAPSHOTS.get(key, cursor.getSnapshotId(), System.nanoTime());
+                if (snapshot != null) {
+                    return listed(snapshot.page(cursor.getOffset(), maxResults), snapshot.nextToken(cursor.getOffset(), maxResults));
+                }
+                logger.log(String.format("List snapshot %s is no longer cached, listing live", cursor.getSnapshotId()));
+            }
+        }
+
+        final String nextToken = cursor == null ? request.getNextToken() : cursor.getLiveToken();
+        final int skip = cursor == null ? 0 : cursor.getSkip();
         return proxy.initiate("AWS-Bedrock-ApplicationInferenceProfile::List", proxyClient, request.getDesiredResourceState(), callbackContext)
-                .translateToServiceRequest(resourceModel -> ListInferenceProfilesRequest.builder()
-                        .nextToken(request.getNextToken())
-                        .maxResults(maxResults)
-                        .typeEquals(type)
-                        .build())
+                .translateToServiceRequest(resourceModel ->
+                        Translator.translateToListRequest(nextToken, Math.min(SNAPSHOT_PAGE_SIZE, maxResults + skip), type))
                 .makeServiceCall((listInferenceProfileRequest, client) ->
                         client.injectCredentialsAndInvokeV2(listInferenceProfileRequest, client.client()::listInferenceProfiles))
                 .handleError(BaseHandlerStd::handleError)
                 .done(listInferenceProfileResponse ->
-                        ProgressEvent.<ResourceModel, CallbackContext>builder()
-                                .resourceModels(Translator.translateFromListResponse(listInferenceProfileResponse))
-                                .nextToken(listInferenceProfileResponse.nextToken())
-                                .status(OperationStatus.SUCCESS)
-                                .build());
+                        collectPages(proxyClient, listInferenceProfileResponse, nextToken, skip, maxResults, type, filter,
+                                pageDeadline, callbackContext, logger));
+    }
+
+    /**
+     * Scans every page of the listing into a snapshot, starting from the first page. The snapshot is cached when the
+     * scan completes within the time budget and holds at most listSnapshotMaxProfiles profiles; otherwise it only
+     * serves this call, and its nextToken continues live where the scan stopped.
+     */
+    private ListSnapshot takeSnapshot(final ProxyClient<BedrockClient> proxyClient,
+                                      final ListInferenceProfilesResponse firstPage,
+                                      final String key,
+                                      final String type,
+                                      final ListFilter filter,
+                                      final long deadline,
+                                      final Logger logger) {
+        final List<ResourceModel> resourceModels = new ArrayList<>();
+        final List<String> pageTokens = new ArrayList<>();
+        final List<Integer> pagePositions = new ArrayList<>();
+        ListInferenceProfilesResponse page = firstPage;
+        String pageToken = null;
+        String resumeToken = null;
+        while (true) {
+            int position = 0;
+            for (final InferenceProfileSummary summary : page.inferenceProfileSummaries()) {
+                if (filter.matches(summary)) {
+                    resourceModels.add(Translator.translateFromSummary(summary, settings.getListProjection()));
+                    pageTokens.add(pageToken);
+                    pagePositions.add(position);
+                }
+                position++;
+            }
+            final String nextToken = page.nextToken();
+            if (nextToken == null) {
+                break;
+            }
+            if (resourceModels.size() > settings.getListSnapshotMaxProfiles() || System.nanoTime() >= deadline) {
+                resumeToken = nextToken;
+                break;
+            }
+            try {
+                page = proxyClient.injectCredentialsAndInvokeV2(
+                        Translator.translateToListRequest(nextToken, SNAPSHOT_PAGE_SIZE, type),
+                        proxyClient.client()::listInferenceProfiles);
+                pageToken = nextToken;
+            } catch (final RuntimeException e) {
+                logger.log(String.format("List snapshot stopped after %d profile(s): %s", resourceModels.size(), e.getMessage()));
+                resumeToken = nextToken;
+                break;
+            }
+        }
+
+        final boolean cacheable = resumeToken == null && resourceModels.size() <= settings.getListSnapshotMaxProfiles();
+        final long now = System.nanoTime();
+        final ListSnapshot snapshot = new ListSnapshot(cacheable ? UUID.randomUUID().toString() : null, key,
+                resourceModels, pageTokens, pagePositions, resumeToken, now + settings.getListSnapshotTtl().toNanos());
+        if (cacheable) {
+            SNAPSHOTS.put(snapshot, settings.getListSnapshotMaxProfiles(), now);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Follows nextToken until maxResults matching profiles are collected, the last page is reached or the time budget
+     * is spent. Each further page asks for at most the matches still missing, so a page is never cut, and is requested
+     * before the current page is filtered and translated. A page that cannot be processed ends the listing early: the
+     * profiles collected so far are returned with the token of that page, so the caller resumes from it. Failures on
+     * the first page fail the request. The first firstPageSkip summaries of the first page were already returned by
+     * the previous call.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> collectPages(final ProxyClient<BedrockClient> proxyClient,
+                                                                       final ListInferenceProfilesResponse firstPage,
+                                                                       final String firstPageToken,
+                                                                       final int firstPageSkip,
+                                                                       final int maxResults,
+                                                                       final String type,
+                                                                       final ListFilter filter,
+                                                                       final long deadline,
+                                                                       final CallbackContext callbackContext,
+                                                                       final Logger logger) {
+        final List<ResourceModel> resourceModels = new ArrayList<>(maxResults);
+        ListInferenceProfilesResponse page = firstPage;
+        String pageToken = firstPageToken;
+        while (true) {
+            final String nextToken = page.nextToken();
+            final List<ResourceModel> candidates = new ArrayList<>(page.inferenceProfileSummaries().size());
+            int skip = page == firstPage ? firstPageSkip : 0;
+            for (final InferenceProfileSummary summary : page.inferenceProfileSummaries()) {
+                if (skip > 0) {
+                    skip--;
+                } else if (filter.matches(summary)) {
+                    candidates.add(Translator.translateFromSummary(summary, settings.getListProjection()));
+                }
+            }
+            // the tag filter may still drop candidates, so they only bound the size of the prefetched page
+            CompletableFuture<ListInferenceProfilesResponse> nextPage =
+                    fetchPage(proxyClient, nextToken, maxResults - resourceModels.size() - candidates.size(), type, deadline);
+
+            if (filter.isListTags()) {
+                try {
+                    listTags(proxyClient, candidates);
+                } catch (final RuntimeException e) {
+                    if (nextPage != null) {
+                        AsyncHelper.awaitQuietly(nextPage);
+                    }
+                    if (page == firstPage) {
+                        return handleError(ListTagsForResourceRequest.builder().build(), e, proxyClient, null, callbackContext);
+                    }
+                    logger.log(String.format("Listing %s stopped after %d profile(s): %s", ResourceModel.TYPE_NAME,
+                            resourceModels.size(), e.getMessage()));
+                    return listed(resourceModels, pageToken);
+                }
+            }
+            for (final ResourceModel candidate : candidates) {
+                if (filter.matchesTags(candidate.getTags())) {
+                    resourceModels.add(candidate);
+                }
+            }
+
+            if (nextPage == null) {
+                nextPage = fetchPage(proxyClient, nextToken, maxResults - resourceModels.size(), type, deadline);
+                if (nextPage == null) {
+                    return listed(resourceModels, nextToken);
+                }
+            }
+            try {
+                page = AsyncHelper.join(nextPage);
+                pageToken = nextToken;
+            } catch (final RuntimeException e) {
+                logger.log(String.format("Listing %s stopped after %d profile(s): %s", ResourceModel.TYPE_NAME,
+                        resourceModels.size(), e.getMessage()));
+                return listed(resourceModels, nextToken);
+            }
+        }
+    }
+
+    /**
+     * Starts fetching the page behind nextToken, unless there is none, no room is left for its profiles or the time
+     * budget is spent.
+     */
+    private static CompletableFuture<ListInferenceProfilesResponse> fetchPage(final ProxyClient<BedrockClient> proxyClient,
+                                                                              final String nextToken,
+                                                                              final int maxResults,
+                                                                              final String type,
+                                                                              final long deadline) {
+        if (nextToken == null || maxResults <= 0 || System.nanoTime() >= deadline) {
+            return null;
+        }
+        return AsyncHelper.supplyAsync(() -> proxyClient.injectCredentialsAndInvokeV2(
+                Translator.translateToListRequest(nextToken, maxResults, type),
+                proxyClient.client()::listInferenceProfiles));
+    }
+
+    /**
+     * Fills in the tags of the given profiles, with at most listTagsConcurrency calls in flight. A profile deleted
+     * since it was listed keeps no tags, any other error is rethrown.
+     */
+    private void listTags(final ProxyClient<BedrockClient> proxyClient, final List<ResourceModel> resourceModels) {
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final int workers = Math.min(Math.max(settings.getListTagsConcurrency(), 1), resourceModels.size());
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(AsyncHelper.supplyAsync(() -> {
+                for (int index = nextIndex.getAndIncrement(); index < resourceModels.size(); index = nextIndex.getAndIncrement()) {
+                    listTags(proxyClient, resourceModels.get(index));
+                }
+                return null;
+            }));
+        }
+        futures.forEach(AsyncHelper::awaitQuietly);
+        futures.forEach(AsyncHelper::join);
+    }
+
+    private static void listTags(final ProxyClient<BedrockClient> proxyClient, final ResourceModel resourceModel) {
+        try {
+            final ListTagsForResourceResponse listTagsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToListTagsRequest(resourceModel), proxyClient.client()::listTagsForResource);
+            resourceModel.setTags(Translator.translateFromSdkTags(listTagsResponse.tags()));
+        } catch (final ResourceNotFoundException e) {
+            // deleted after it was listed
+        }
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> listed(final List<ResourceModel> resourceModels,
+                                                                        final String nextToken) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModels(resourceModels)
+                .nextToken(nextToken)
+                .status(OperationStatus.SUCCESS)
+                .build();
     }
 }
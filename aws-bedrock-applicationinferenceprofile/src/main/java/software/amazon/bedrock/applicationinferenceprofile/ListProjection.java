@@ -0,0 +1,85 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Properties a listed ResourceModel carries.
+ * <p>
+ * The primary identifier is always returned. Leaving out Models, CreatedAt or UpdatedAt also skips translating the
+ * model list and formatting the timestamps. The List schema has no channel for per-request options, so the projection
+ * is a handler setting, which a deployment sets through the LIST_PROJECTION environment variable.
+ */
+@lombok.Getter(lombok.AccessLevel.PACKAGE)
+@lombok.EqualsAndHashCode
+@lombok.ToString
+public final class ListProjection {
+    public static final String INFERENCE_PROFILE_ARN = "InferenceProfileArn";
+    public static final String INFERENCE_PROFILE_NAME = "InferenceProfileName";
+    public static final String INFERENCE_PROFILE_ID = "InferenceProfileId";
+    public static final String DESCRIPTION = "Description";
+    public static final String STATUS = "Status";
+    public static final String TYPE = "Type";
+    public static final String MODELS = "Models";
+    public static final String CREATED_AT = "CreatedAt";
+    public static final String UPDATED_AT = "UpdatedAt";
+
+    private static final Set<String> PROPERTIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            INFERENCE_PROFILE_ARN, INFERENCE_PROFILE_NAME, INFERENCE_PROFILE_ID, DESCRIPTION, STATUS, TYPE, MODELS,
+            CREATED_AT, UPDATED_AT)));
+
+    public static final ListProjection ALL = new ListProjection(PROPERTIES);
+    public static final ListProjection IDENTIFIER_ONLY = new ListProjection(Collections.emptySet());
+
+    private final boolean inferenceProfileArn;
+    private final boolean inferenceProfileName;
+    private final boolean inferenceProfileId;
+    private final boolean description;
+    private final boolean status;
+    private final boolean type;
+    private final boolean models;
+    private final boolean createdAt;
+    private final boolean updatedAt;
+
+    private ListProjection(final Set<String> properties) {
+        this.inferenceProfileArn = properties.contains(INFERENCE_PROFILE_ARN);
+        this.inferenceProfileName = properties.contains(INFERENCE_PROFILE_NAME);
+        this.inferenceProfileId = properties.contains(INFERENCE_PROFILE_ID);
+        this.description = properties.contains(DESCRIPTION);
+        this.status = properties.contains(STATUS);
+        this.type = properties.contains(TYPE);
+        this.models = properties.contains(MODELS);
+        this.createdAt = properties.contains(CREATED_AT);
+        this.updatedAt = properties.contains(UPDATED_AT);
+    }
+
+    /**
+     * of
+     * <p>
+     * Projection on the given schema property names, next to the primary identifier.
+     */
+    public static ListProjection of(final String... properties) {
+        final Set<String> projected = new HashSet<>(Arrays.asList(properties));
+        projected.remove("InferenceProfileIdentifier");
+        if (!PROPERTIES.containsAll(projected)) {
+            projected.removeAll(PROPERTIES);
+            throw new IllegalArgumentException(String.format("Unknown properties %s", projected));
+        }
+        return new ListProjection(projected);
+    }
+
+    /**
+     * parse
+     * <p>
+     * Projection on a comma separated list of schema property names, as set in the environment. An empty list
+     * projects the primary identifier only.
+     */
+    public static ListProjection parse(final String properties) {
+        return of(Arrays.stream(properties.split(","))
+                .map(String::trim)
+                .filter(property -> !property.isEmpty())
+                .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,125 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Profiles captured by one full ListInferenceProfiles scan, served page by page through cursor tokens.
+ * <p>
+ * Next to every model the snapshot keeps the Bedrock token of the page it came from and its position on that page,
+ * so a cursor can also resume live paging when the snapshot is gone. A snapshot that was not cached, because the
+ * scan was cut short or held too many profiles, has no id and its cursors always resume live.
+ */
+@lombok.Getter
+public class ListSnapshot {
+    private static final String CURSOR_PREFIX = "aip-snapshot:";
+    private static final String SEPARATOR = "|";
+
+    private final String id;
+    private final String key;
+    private final List<ResourceModel> resourceModels;
+    private final List<String> pageTokens;
+    private final List<Integer> pagePositions;
+    // Bedrock token of the first page the scan did not reach, null once the scan completed
+    private final String resumeToken;
+    private final long expiresAt;
+
+    ListSnapshot(final String id,
+                 final String key,
+                 final List<ResourceModel> resourceModels,
+                 final List<String> pageTokens,
+                 final List<Integer> pagePositions,
+                 final String resumeToken,
+                 final long expiresAt) {
+        this.id = id;
+        this.key = key;
+        this.resourceModels = resourceModels;
+        this.pageTokens = pageTokens;
+        this.pagePositions = pagePositions;
+        this.resumeToken = resumeToken;
+        this.expiresAt = expiresAt;
+    }
+
+    public int size() {
+        return resourceModels.size();
+    }
+
+    /**
+     * page
+     * <p>
+     * Copies of the models from offset on, at most maxResults of them.
+     */
+    List<ResourceModel> page(final int offset, final int maxResults) {
+        final int end = end(offset, maxResults);
+        final List<ResourceModel> page = new ArrayList<>(Math.max(end - offset, 0));
+        for (int i = offset; i < end; i++) {
+            page.add(resourceModels.get(i).toBuilder().build());
+        }
+        return page;
+    }
+
+    /**
+     * nextToken
+     * <p>
+     * Cursor to the page following the one starting at offset, or null when the listing is complete.
+     */
+    String nextToken(final int offset, final int maxResults) {
+        final int end = end(offset, maxResults);
+        if (end < size()) {
+            return new Cursor(id, end, pageTokens.get(end), pagePositions.get(end)).encode();
+        }
+        return resumeToken == null ? null : new Cursor(null, 0, resumeToken, 0).encode();
+    }
+
+    private int end(final int offset, final int maxResults) {
+        return (int) Math.min(size(), (long) Math.max(offset, 0) + maxResults);
+    }
+
+    /**
+     * Position in a listing: an offset into a cached snapshot, and the Bedrock token and position on that page to
+     * continue live when the snapshot is not available.
+     */
+    @lombok.Value
+    static class Cursor {
+        String snapshotId;
+        int offset;
+        String liveToken;
+        int skip;
+
+        String encode() {
+            final String cursor = String.join(SEPARATOR,
+                    snapshotId == null ? "" : snapshotId,
+                    Integer.toString(offset),
+                    Integer.toString(skip),
+                    liveToken == null ? "" : liveToken);
+            return CURSOR_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * decode
+         * <p>
+         * Reads a cursor, or returns null when the token is a plain Bedrock token.
+         */
+        static Cursor decode(final String token) {
+            if (token == null || !token.startsWith(CURSOR_PREFIX)) {
+                return null;
+            }
+            try {
+                final String cursor = new String(Base64.getUrlDecoder().decode(token.substring(CURSOR_PREFIX.length())),
+                        StandardCharsets.UTF_8);
+                // the live token goes last, it may contain the separator
+                final String[] parts = cursor.split("\\|", 4);
+                return new Cursor(
+                        parts[0].isEmpty() ? null : parts[0],
+                        Integer.parseInt(parts[1]),
+                        parts[3].isEmpty() ? null : parts[3],
+                        Integer.parseInt(parts[2]));
+            } catch (final IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new software.amazon.cloudformation.exceptions.CfnInvalidRequestException(
+                        String.format("Invalid nextToken for %s", ResourceModel.TYPE_NAME));
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps recent list snapshots of a warm container, bounded by the number of profiles they hold.
+ * <p>
+ * Snapshots are found by id and only served to requests with the same account, region and filter. Expired snapshots
+ * are dropped on access, and the least recently used ones are evicted once the bound is exceeded.
+ */
+public class ListSnapshotCache {
+    private final Map<String, ListSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private int cachedProfiles;
+
+    /**
+     * key
+     * <p>
+     * Identifies the listings a snapshot may answer.
+     */
+    static String key(final String awsAccountId,
+                      final String region,
+                      final String type,
+                      final ListFilter filter,
+                      final ListProjection projection) {
+        return String.join("/", String.valueOf(awsAccountId), String.valueOf(region), String.valueOf(type),
+                filter.toString(), projection.toString());
+    }
+
+    /**
+     * get
+     * <p>
+     * Returns the snapshot if it is still valid and was taken for the same key, null otherwise.
+     */
+    synchronized ListSnapshot get(final String key, final String id, final long now) {
+        final ListSnapshot snapshot = snapshots.get(id);
+        if (snapshot == null) {
+            return null;
+        }
+        if (snapshot.getExpiresAt() <= now) {
+            remove(id);
+            return null;
+        }
+        return snapshot.getKey().equals(key) ? snapshot : null;
+    }
+
+    /**
+     * put
+     * <p>
+     * Caches the snapshot, evicting expired and then least recently used snapshots until at most maxProfiles
+     * profiles are held.
+     */
+    synchronized void put(final ListSnapshot snapshot, final int maxProfiles, final long now) {
+        snapshots.put(snapshot.getId(), snapshot);
+        cachedProfiles += snapshot.size();
+
+        final Iterator<ListSnapshot> expired = snapshots.values().iterator();
+        while (expired.hasNext()) {
+            final ListSnapshot cached = expired.next();
+            if (cached.getExpiresAt() <= now) {
+                cachedProfiles -= cached.size();
+                expired.remove();
+            }
+        }
+        final Iterator<ListSnapshot> eldest = snapshots.values().iterator();
+        while (cachedProfiles > maxProfiles && eldest.hasNext()) {
+            cachedProfiles -= eldest.next().size();
+            eldest.remove();
+        }
+    }
+
+    synchronized int size() {
+        return snapshots.size();
+    }
+
+    private void remove(final String id) {
+        final ListSnapshot removed = snapshots.remove(id);
+        if (removed != null) {
+            cachedProfiles -= removed.size();
+        }
+    }
+}
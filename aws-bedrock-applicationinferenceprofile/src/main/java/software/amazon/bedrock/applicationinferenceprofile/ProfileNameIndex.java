@@ -0,0 +1,121 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileType;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Resolves the name of an application inference profile to its ARN, for a Create that lost track of the profile it
+ * created.
+ * <p>
+ * The index is shared by every invocation of the container and keyed by account, region and name. Entries come from
+ * successful creates and from ListInferenceProfiles of the APPLICATION profiles: a lookup that misses lists pages,
+ * recording every profile it sees, until the name shows up or the listing ends. Entries expire after ttl, and at most
+ * maxEntries are kept, the least recently used going first.
+ */
+public class ProfileNameIndex {
+    private static final int PAGE_SIZE = 1000;
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Duration ttl;
+    private final int maxEntries;
+
+    @lombok.Value
+    private static class Entry {
+        String inferenceProfileArn;
+        long expiresAt;
+    }
+
+    public ProfileNameIndex(final Duration ttl, final int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    static ProfileNameIndex fromSettings(final HandlerSettings settings) {
+        return new ProfileNameIndex(settings.getProfileNameIndexTtl(), settings.getProfileNameIndexMaxEntries());
+    }
+
+    /**
+     * find
+     * <p>
+     * Returns the ARN of the profile with the given name, or null when the account has none in the region. A listing
+     * the deadline cut off returns null as well; the pages it got through stay recorded for the next lookup.
+     */
+    public String find(final ProxyClient<BedrockClient> proxyClient, final String awsAccountId, final String region,
+                       final String inferenceProfileName, final Deadline deadline) {
+        final String key = key(awsAccountId, region, inferenceProfileName);
+        synchronized (ENTRIES) {
+            final Entry entry = ENTRIES.get(key);
+            if (entry != null && entry.getExpiresAt() - System.nanoTime() > 0) {
+                return entry.getInferenceProfileArn();
+            }
+        }
+
+        String nextToken = null;
+        do {
+            if (deadline.isExpired(System.nanoTime())) {
+                return null;
+            }
+            final ListInferenceProfilesResponse page = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToListRequest(nextToken, PAGE_SIZE, InferenceProfileType.APPLICATION.toString()),
+                    proxyClient.client()::listInferenceProfiles);
+            String found = null;
+            for (final InferenceProfileSummary summary : page.inferenceProfileSummaries()) {
+                record(awsAccountId, region, summary.inferenceProfileName(), summary.inferenceProfileArn());
+                if (inferenceProfileName.equals(summary.inferenceProfileName())) {
+                    found = summary.inferenceProfileArn();
+                }
+            }
+            if (found != null) {
+                return found;
+            }
+            nextToken = page.nextToken();
+        } while (nextToken != null);
+        return null;
+    }
+
+    /**
+     * record
+     * <p>
+     * Remembers the ARN of the named profile.
+     */
+    public void record(final String awsAccountId, final String region, final String inferenceProfileName,
+                       final String inferenceProfileArn) {
+        if (inferenceProfileName == null || inferenceProfileArn == null) {
+            return;
+        }
+        synchronized (ENTRIES) {
+            ENTRIES.put(key(awsAccountId, region, inferenceProfileName),
+                    new Entry(inferenceProfileArn, System.nanoTime() + ttl.toNanos()));
+            while (ENTRIES.size() > maxEntries) {
+                ENTRIES.remove(ENTRIES.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * forget
+     * <p>
+     * Drops the entry of the named profile, when it turned out to point to a profile that is gone.
+     */
+    public static void forget(final String awsAccountId, final String region, final String inferenceProfileName) {
+        synchronized (ENTRIES) {
+            ENTRIES.remove(key(awsAccountId, region, inferenceProfileName));
+        }
+    }
+
+    static void clear() {
+        synchronized (ENTRIES) {
+            ENTRIES.clear();
+        }
+    }
+
+    private static String key(final String awsAccountId, final String region, final String inferenceProfileName) {
+        return String.join("/", awsAccountId, region, inferenceProfileName);
+    }
+}
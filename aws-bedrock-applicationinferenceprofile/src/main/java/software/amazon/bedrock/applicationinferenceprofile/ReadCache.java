@@ -0,0 +1,191 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Read-through cache of GetInferenceProfile and ListTagsForResource responses, shared by the handlers of a warm
+ * container.
+ * <p>
+ * Responses are kept by account, region, credentials and profile ARN, see CredentialScope.keyPrefix, for
+ * readCacheTtl, at most readCacheMaxEntries profiles, evicting the least recently used one. A caller whose credentials
+ * are unknown always calls the service. Only successful responses are cached. The provider's own
+ * CreateInferenceProfile, TagResource, UntagResource and DeleteInferenceProfile calls drop the entry of their profile,
+ * and a response read while such a call went out is not cached. Stabilization polls never go through the cache.
+ */
+public class ReadCache {
+    private static final String ARN_PREFIX = "arn:";
+
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+    private static final AtomicLong INVALIDATIONS = new AtomicLong();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private final Duration ttl;
+    private final int maxEntries;
+
+    public ReadCache(final Duration ttl, final int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    static ReadCache fromSettings(final HandlerSettings settings) {
+        return new ReadCache(settings.getReadCacheTtl(), settings.getReadCacheMaxEntries());
+    }
+
+    boolean isEnabled() {
+        return ttl != null && maxEntries > 0;
+    }
+
+    /**
+     * getInferenceProfile
+     * <p>
+     * Answers from the cache when the identifier is an ARN with a fresh entry in the scope, otherwise calls
+     * GetInferenceProfile and caches the response under the ARN it returns.
+     */
+    GetInferenceProfileResponse getInferenceProfile(final ProxyClient<BedrockClient> proxyClient,
+                                                    final GetInferenceProfileRequest request,
+                                                    final String scope) {
+        if (!isEnabled() || scope == null) {
+            return proxyClient.injectCredentialsAndInvokeV2(request, proxyClient.client()::getInferenceProfile);
+        }
+        final String identifier = request.inferenceProfileIdentifier();
+        if (identifier != null && identifier.startsWith(ARN_PREFIX)) {
+            synchronized (ENTRIES) {
+                final Entry entry = freshEntry(scope + identifier, System.nanoTime());
+                if (entry != null && entry.profile != null) {
+                    HITS.incrementAndGet();
+                    return entry.profile;
+                }
+            }
+        }
+        MISSES.incrementAndGet();
+        final long invalidations = INVALIDATIONS.get();
+        final GetInferenceProfileResponse response =
+                proxyClient.injectCredentialsAndInvokeV2(request, proxyClient.client()::getInferenceProfile);
+        if (response.inferenceProfileArn() != null) {
+            synchronized (ENTRIES) {
+                final Entry entry = entryToFill(scope + response.inferenceProfileArn(), invalidations);
+                if (entry != null) {
+                    entry.profile = response;
+                    entry.profileExpiresAt = System.nanoTime() + ttl.toNanos();
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * listTagsForResource
+     * <p>
+     * Answers from the cache when the profile has a fresh entry in the scope, otherwise calls ListTagsForResource
+     * and caches the response.
+     */
+    ListTagsForResourceResponse listTagsForResource(final ProxyClient<BedrockClient> proxyClient,
+                                                    final ListTagsForResourceRequest request,
+                                                    final String scope) {
+        if (!isEnabled() || scope == null) {
+            return proxyClient.injectCredentialsAndInvokeV2(request, proxyClient.client()::listTagsForResource);
+        }
+        final String key = scope + request.resourceARN();
+        synchronized (ENTRIES) {
+            final Entry entry = freshEntry(key, System.nanoTime());
+            if (entry != null && entry.tags != null) {
+                HITS.incrementAndGet();
+                return entry.tags;
+            }
+        }
+        MISSES.incrementAndGet();
+        final long invalidations = INVALIDATIONS.get();
+        final ListTagsForResourceResponse response =
+                proxyClient.injectCredentialsAndInvokeV2(request, proxyClient.client()::listTagsForResource);
+        synchronized (ENTRIES) {
+            final Entry entry = entryToFill(key, invalidations);
+            if (entry != null) {
+                entry.tags = response;
+                entry.tagsExpiresAt = System.nanoTime() + ttl.toNanos();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * invalidate
+     * <p>
+     * Drops everything cached for the profile in the scope. Called after every call that changes a profile, whether
+     * or not it succeeded.
+     */
+    static void invalidate(final String scope, final String arn) {
+        synchronized (ENTRIES) {
+            INVALIDATIONS.incrementAndGet();
+            if (scope != null && arn != null) {
+                ENTRIES.remove(scope + arn);
+            }
+        }
+    }
+
+    static long getHits() {
+        return HITS.get();
+    }
+
+    static long getMisses() {
+        return MISSES.get();
+    }
+
+    static void clear() {
+        synchronized (ENTRIES) {
+            ENTRIES.clear();
+        }
+    }
+
+    private static Entry freshEntry(final String key, final long now) {
+        final Entry entry = ENTRIES.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.profile != null && entry.profileExpiresAt <= now) {
+            entry.profile = null;
+        }
+        if (entry.tags != null && entry.tagsExpiresAt <= now) {
+            entry.tags = null;
+        }
+        if (entry.profile == null && entry.tags == null) {
+            ENTRIES.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the entry to store a response in, or null when the profile changed while the response was read.
+     */
+    private Entry entryToFill(final String key, final long invalidations) {
+        if (INVALIDATIONS.get() != invalidations) {
+            return null;
+        }
+        final Entry entry = ENTRIES.computeIfAbsent(key, k -> new Entry());
+        final Iterator<Entry> eldest = ENTRIES.values().iterator();
+        while (ENTRIES.size() > maxEntries && eldest.hasNext()) {
+            if (eldest.next() != entry) {
+                eldest.remove();
+            }
+        }
+        return entry;
+    }
+
+    private static class Entry {
+        private GetInferenceProfileResponse profile;
+        private long profileExpiresAt;
+        private ListTagsForResourceResponse tags;
+        private long tagsExpiresAt;
+    }
+}
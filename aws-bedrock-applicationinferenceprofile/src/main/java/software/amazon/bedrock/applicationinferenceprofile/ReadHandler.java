@@ -1,6 +1,11 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -8,61 +13,136 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class ReadHandler extends BaseHandlerStd {
-    private Logger logger;
+    private static final String ARN_PREFIX = "arn:";
+
+    // concurrent reads of a profile within this process share their GetInferenceProfile and ListTagsForResource calls,
+    // as long as the readers sign them with the same credentials
+    private static final SingleFlight<String, GetInferenceProfileResponse> GET_FLIGHTS = new SingleFlight<>();
+    private static final SingleFlight<String, ListTagsForResourceResponse> LIST_TAGS_FLIGHTS = new SingleFlight<>();
+
+    public ReadHandler() {
+        super();
+    }
+
+    public ReadHandler(final HandlerSettings settings) {
+        super(settings);
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final ProxyClient<BedrockClient> proxyClient,
+            final Deadline deadline,
             final Logger logger) {
 
-        this.logger = logger;
-
         logger.log(String.format("Handling ReadHandler request for AccountId %s", request.getAwsAccountId()));
 
-        return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(progressEvent ->
-                        getInferenceProfile(
-                                proxy,
-                                proxyClient,
-                                progressEvent.getResourceModel(),
-                                progressEvent.getCallbackContext()))
-                .then(progressEvent ->
-                        listTagsForInferenceProfile(
-                                proxy,
-                                proxyClient,
-                                progressEvent.getResourceModel(),
-                                progressEvent.getCallbackContext()))
-                .then(progressEvent ->
-                        ProgressEvent.defaultSuccessHandler(progressEvent.getResourceModel()));
+        final ReadCache readCache = ReadCache.fromSettings(settings);
+        final String credentialScope = CredentialScope.of(proxyClient);
+        // null when the credentials are unknown, the calls are then never shared
+        final String flightScope = CredentialScope.keyPrefix(request.getAwsAccountId(), request.getRegion(), credentialScope);
+        final ResourceModel model = request.getDesiredResourceState();
+        final String identifier = model.getInferenceProfileIdentifier();
+        // ListTagsForResource needs the ARN. When the identifier already is one, the tags are fetched next to
+        // GetInferenceProfile, otherwise they wait for GetInferenceProfile to resolve it from the profile id.
+        final CompletableFuture<ListTagsForResourceResponse> listTagsFuture =
+                identifier != null && identifier.startsWith(ARN_PREFIX) && !deadline.isExpired(System.nanoTime()) ?
+                        AsyncHelper.supplyAsync(() -> readTags(proxyClient,
+                                Translator.translateToListTagsRequest(model), readCache, flightScope)) :
+                        null;
+        try {
+            return ProgressEvent.progress(model, callbackContext)
+                    .then(deadline.stepOrFail(progressEvent ->
+                            getInferenceProfile(
+                                    proxy,
+                                    proxyClient,
+                                    progressEvent.getResourceModel(),
+                                    progressEvent.getCallbackContext(),
+                                    readCache,
+                                    flightScope)))
+                    .then(deadline.stepOrFail(progressEvent ->
+                            listTagsForInferenceProfile(
+                                    proxy,
+                                    proxyClient,
+                                    progressEvent.getResourceModel(),
+                                    progressEvent.getCallbackContext(),
+                                    readCache,
+                                    flightScope,
+                                    listTagsFuture)))
+                    .then(progressEvent ->
+                            ProgressEvent.defaultSuccessHandler(progressEvent.getResourceModel()));
+        } finally {
+            if (listTagsFuture != null) {
+                // a failed GetInferenceProfile leaves the tags call unread
+                AsyncHelper.awaitQuietly(listTagsFuture);
+            }
+            if (readCache.isEnabled()) {
+                logger.log(String.format("Read cache: %d hit(s), %d miss(es) in this container.",
+                        ReadCache.getHits(), ReadCache.getMisses()));
+            }
+        }
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> getInferenceProfile(final AmazonWebServicesClientProxy proxy,
                                                                               final ProxyClient<BedrockClient> proxyClient,
                                                                               final ResourceModel resourceModel,
-                                                                              final CallbackContext callbackContext) {
+                                                                              final CallbackContext callbackContext,
+                                                                              final ReadCache readCache,
+                                                                              final String flightScope) {
         return proxy.initiate("AWS-Bedrock-ApplicationInferenceProfile::Read", proxyClient, resourceModel, callbackContext)
                 .translateToServiceRequest(Translator::translateToReadRequest)
                 .makeServiceCall(
-                        (getInferenceProfileRequest, client) ->
-                                client.injectCredentialsAndInvokeV2(getInferenceProfileRequest, client.client()::getInferenceProfile))
+                        (getInferenceProfileRequest, client) -> readProfile(client, getInferenceProfileRequest, readCache, flightScope))
                 .handleError(BaseHandlerStd::handleError)
                 .done(getInferenceProfileResponse -> ProgressEvent.progress(Translator.translateFromReadResponse(getInferenceProfileResponse), callbackContext));
     }
 
+    /**
+     * Attaches the tags of the profile to the model. When the call was already started next to GetInferenceProfile
+     * its result is joined here, so errors still go through the call chain and BaseHandlerStd.handleError.
+     */
     private ProgressEvent<ResourceModel, CallbackContext> listTagsForInferenceProfile(final AmazonWebServicesClientProxy proxy,
                                                                                       final ProxyClient<BedrockClient> proxyClient,
                                                                                       final ResourceModel model,
-                                                                                      final CallbackContext callbackContext) {
+                                                                                      final CallbackContext callbackContext,
+                                                                                      final ReadCache readCache,
+                                                                                      final String flightScope,
+                                                                                      final CompletableFuture<ListTagsForResourceResponse> listTagsFuture) {
         return proxy.initiate("AWS-Bedrock-ApplicationInferenceProfile::ListTags", proxyClient, model, callbackContext)
                 .translateToServiceRequest(Translator::translateToListTagsRequest)
-                .makeServiceCall((listTagsRequest, client) -> client.injectCredentialsAndInvokeV2(listTagsRequest,
-                        client.client()::listTagsForResource))
+                .makeServiceCall((listTagsRequest, client) -> {
+                    if (listTagsFuture != null) {
+                        return AsyncHelper.join(listTagsFuture);
+                    }
+                    return readTags(client, listTagsRequest, readCache, flightScope);
+                })
                 .handleError(BaseHandlerStd::handleError)
                 .done((listTagsRequest, listTagsResponse, client, resourceModel, resourceCallbackContext) -> {
                     resourceModel.setTags(Translator.translateFromSdkTags(listTagsResponse.tags()));
                     return ProgressEvent.progress(resourceModel, resourceCallbackContext);
                 });
     }
+
+    private static GetInferenceProfileResponse readProfile(final ProxyClient<BedrockClient> proxyClient,
+                                                           final GetInferenceProfileRequest request,
+                                                           final ReadCache readCache,
+                                                           final String flightScope) {
+        if (flightScope == null) {
+            return readCache.getInferenceProfile(proxyClient, request, null);
+        }
+        return GET_FLIGHTS.call(flightScope + request.inferenceProfileIdentifier(),
+                () -> readCache.getInferenceProfile(proxyClient, request, flightScope));
+    }
+
+    private static ListTagsForResourceResponse readTags(final ProxyClient<BedrockClient> proxyClient,
+                                                        final ListTagsForResourceRequest request,
+                                                        final ReadCache readCache,
+                                                        final String flightScope) {
+        if (flightScope == null) {
+            return readCache.listTagsForResource(proxyClient, request, null);
+        }
+        return LIST_TAGS_FLIGHTS.call(flightScope + request.resourceARN(),
+                () -> readCache.listTagsForResource(proxyClient, request, flightScope));
+    }
 }
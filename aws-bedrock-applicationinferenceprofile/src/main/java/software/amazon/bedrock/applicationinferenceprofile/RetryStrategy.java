@@ -0,0 +1,99 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Turns throttling and service-side errors of a mutating handler into a callback instead of a failed operation.
+ * <p>
+ * The handler returns IN_PROGRESS and CloudFormation calls it back after a decorrelated-jitter delay: a random delay
+ * between the base delay and three times the previous one, capped at the maximum delay. The handlers keep their
+ * progress in the CallbackContext, so the callback resumes at the call that failed. The number of retries in a row
+ * and the last delay live in the CallbackContext too; once maxRetries is reached the error fails the operation as
+ * before. Any progress without such an error starts the count over.
+ */
+public class RetryStrategy {
+    private final int maxRetries;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    public RetryStrategy(final int maxRetries, final Duration baseDelay, final Duration maxDelay) {
+        this.maxRetries = maxRetries;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    static RetryStrategy fromSettings(final HandlerSettings settings) {
+        return new RetryStrategy(
+                settings.getMaxTransientRetries(),
+                settings.getTransientRetryBaseDelay(),
+                settings.getTransientRetryMaxDelay());
+    }
+
+    /**
+     * isRetryable
+     * <p>
+     * Throttling and internal errors of the service are worth another attempt, anything else is not.
+     */
+    public boolean isRetryable(final HandlerErrorCode errorCode) {
+        return errorCode == HandlerErrorCode.Throttling || errorCode == HandlerErrorCode.ServiceInternalError;
+    }
+
+    /**
+     * apply
+     * <p>
+     * Reschedules an event that failed, or was already put back IN_PROGRESS, with a retryable error. Other events
+     * are returned as they are.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> apply(final ProgressEvent<ResourceModel, CallbackContext> event,
+                                                        final ResourceModel model,
+                                                        final CallbackContext callbackContext,
+                                                        final Logger logger) {
+        if (event.getStatus() == OperationStatus.SUCCESS || !isRetryable(event.getErrorCode())) {
+            callbackContext.setTransientRetryAttempts(0);
+            callbackContext.setTransientRetryDelaySeconds(0);
+            return event;
+        }
+        final int attempts = callbackContext.getTransientRetryAttempts();
+        if (attempts >= maxRetries) {
+            logger.log(String.format("%s failed with %s after %d retries.", ResourceModel.TYPE_NAME, event.getErrorCode(), attempts));
+            return ProgressEvent.failed(resourceModelOf(event, model), callbackContext, event.getErrorCode(), event.getMessage());
+        }
+
+        // an open circuit breaker names the earliest time worth calling back
+        final int delaySeconds = Math.max(nextDelaySeconds(callbackContext.getTransientRetryDelaySeconds()),
+                event.getCallbackDelaySeconds());
+        callbackContext.setTransientRetryAttempts(attempts + 1);
+        callbackContext.setTransientRetryDelaySeconds(delaySeconds);
+        logger.log(String.format("%s got %s, retry %d of %d in %d second(s).", ResourceModel.TYPE_NAME, event.getErrorCode(),
+                attempts + 1, maxRetries, delaySeconds));
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .status(OperationStatus.IN_PROGRESS)
+                .errorCode(event.getErrorCode())
+                .message(event.getMessage())
+                .resourceModel(resourceModelOf(event, model))
+                .callbackContext(callbackContext)
+                .callbackDelaySeconds(delaySeconds)
+                .build();
+    }
+
+    /**
+     * nextDelaySeconds
+     * <p>
+     * Decorrelated jitter: uniform between the base delay and three times the previous delay, at most maxDelay.
+     */
+    int nextDelaySeconds(final int previousDelaySeconds) {
+        final long base = StabilizationStrategy.toCallbackDelaySeconds(baseDelay);
+        final long cap = Math.max(base, StabilizationStrategy.toCallbackDelaySeconds(maxDelay));
+        final long upper = Math.max(base, Math.max(previousDelaySeconds, base) * 3L);
+        return (int) Math.min(cap, base + ThreadLocalRandom.current().nextLong(upper - base + 1));
+    }
+
+    private static ResourceModel resourceModelOf(final ProgressEvent<ResourceModel, CallbackContext> event, final ResourceModel model) {
+        return event.getResourceModel() != null ? event.getResourceModel() : model;
+    }
+}
@@ -0,0 +1,44 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical calls share one call in flight.
+ * <p>
+ * The first caller for a key runs the call on its own thread, callers arriving while it runs wait for it and get the
+ * same result, or the same exception rethrown, so each of them maps it through BaseHandlerStd.handleError as if it
+ * had made the call itself. Nothing is kept once the call returns; later callers start a new one.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * call
+     * <p>
+     * Runs the call, or joins the one already in flight for the key.
+     */
+    public V call(final K key, final Supplier<V> call) {
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return AsyncHelper.join(leader);
+        }
+        try {
+            final V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (final RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+}
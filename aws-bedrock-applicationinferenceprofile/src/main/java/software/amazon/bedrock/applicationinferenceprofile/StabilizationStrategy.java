@@ -0,0 +1,109 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileStatus;
+import software.amazon.cloudformation.proxy.Delay;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Decides when an inference profile has stabilized and how long to wait between status polls.
+ * <p>
+ * A terminal status already reported by the mutating call is accepted without waiting. Otherwise the handler returns
+ * IN_PROGRESS and CloudFormation calls it back after a jittered exponential backoff delay (half of the capped
+ * exponential delay plus a random share of the other half), so no Lambda time is spent sleeping between polls. The
+ * pending ARN, the number of callbacks and the deadline live in the CallbackContext; once the time budget is spent
+ * the handler gives up with NotStabilized.
+ */
+public class StabilizationStrategy implements Delay {
+    private static final int MAX_EXPONENT = 30;
+
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration timeout;
+
+    public StabilizationStrategy(final Duration baseDelay, final Duration maxDelay, final Duration timeout) {
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.timeout = timeout;
+    }
+
+    static StabilizationStrategy fromSettings(final HandlerSettings settings) {
+        return new StabilizationStrategy(
+                settings.getStabilizationBaseDelay(),
+                settings.getStabilizationMaxDelay(),
+                settings.getStabilizationTimeout());
+    }
+
+    /**
+     * isTerminal
+     * <p>
+     * ACTIVE is the only status an application inference profile settles in.
+     */
+    public boolean isTerminal(final InferenceProfileStatus status) {
+        return status == InferenceProfileStatus.ACTIVE;
+    }
+
+    /**
+     * start
+     * <p>
+     * Records the profile to wait for and arms the stabilization deadline.
+     */
+    void start(final CallbackContext callbackContext, final String inferenceProfileArn) {
+        callbackContext.setPendingInferenceProfileArn(inferenceProfileArn);
+        callbackContext.setStabilizationAttempts(0);
+        callbackContext.setStabilizationDeadline(Instant.now().plus(timeout).toEpochMilli());
+    }
+
+    /**
+     * awaitNextPoll
+     * <p>
+     * Asks CloudFormation to re-invoke the handler after the next backoff delay, or fails with NotStabilized once the
+     * deadline has passed.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> awaitNextPoll(final ResourceModel model, final CallbackContext callbackContext) {
+        final Duration delay = nextDelay(callbackContext.getStabilizationAttempts());
+        if (delay == Duration.ZERO || Instant.now().toEpochMilli() >= callbackContext.getStabilizationDeadline()) {
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.NotStabilized,
+                    String.format("%s [%s] did not stabilize within %s.", ResourceModel.TYPE_NAME,
+                            callbackContext.getPendingInferenceProfileArn(), timeout));
+        }
+        callbackContext.setStabilizationAttempts(callbackContext.getStabilizationAttempts() + 1);
+        return ProgressEvent.defaultInProgressHandler(callbackContext, toCallbackDelaySeconds(delay), model);
+    }
+
+    @Override
+    public Duration nextDelay(final int attempt) {
+        final int attempts = Math.max(attempt, 0);
+        if (worstCaseElapsedMillis(attempts) >= timeout.toMillis()) {
+            return Duration.ZERO;
+        }
+        final long ceiling = Math.max(backoffCeilingMillis(attempts), 2);
+        final long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+
+    /**
+     * Upper bound of the time already spent waiting before the given attempt, independent of the jitter drawn.
+     */
+    private long worstCaseElapsedMillis(final int attempts) {
+        long elapsed = 0;
+        for (int i = 0; i < attempts; i++) {
+            elapsed += backoffCeilingMillis(i);
+        }
+        return elapsed;
+    }
+
+    /**
+     * CloudFormation schedules callbacks in whole seconds, round up so the delay is never shortened to zero.
+     */
+    static int toCallbackDelaySeconds(final Duration delay) {
+        return (int) Math.max(1, (delay.toMillis() + 999) / 1000);
+    }
+
+    private long backoffCeilingMillis(final int attempt) {
+        return Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(attempt, MAX_EXPONENT));
+    }
+}
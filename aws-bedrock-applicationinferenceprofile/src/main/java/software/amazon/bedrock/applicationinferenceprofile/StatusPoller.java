@@ -0,0 +1,256 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileType;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Polls the status of the profiles that Create and Delete wait on, batching the polls of all invocations a container
+ * runs for an account and region with the same credentials.
+ * <p>
+ * The first caller refreshes the ARNs waiting at that moment while later callers queue up; when the refresh is done
+ * the next caller still waiting refreshes everything queued in the meantime. A batch of fewer than
+ * statusPollBatchThreshold ARNs is polled with a GetInferenceProfile each. A larger one is matched against
+ * ListInferenceProfiles of the APPLICATION profiles, paged until every ARN was seen; an ARN the listing does not show
+ * is confirmed with its own GetInferenceProfile, since the listing may lag behind. Every caller gets the response or
+ * the exception of its own ARN, as if it had called GetInferenceProfile itself.
+ * <p>
+ * Every caller waits no longer than its own Deadline. A refresh stops before the next page or GetInferenceProfile
+ * once the deadline of the caller running it has passed, and the ARNs it did not get to are queued for the next one.
+ */
+public class StatusPoller {
+    private static final int PAGE_SIZE = 1000;
+    private static final ConcurrentMap<String, StatusPoller> POLLERS = new ConcurrentHashMap<>();
+
+    private final String key;
+    private final int batchThreshold;
+    private final Object lock = new Object();
+
+    private Map<String, CompletableFuture<GetInferenceProfileResponse>> waiting = new LinkedHashMap<>();
+    private CompletableFuture<Void> refresh = new CompletableFuture<>();
+    private boolean refreshing;
+    private int callers;
+
+    public StatusPoller(final int batchThreshold) {
+        this(null, batchThreshold);
+    }
+
+    private StatusPoller(final String key, final int batchThreshold) {
+        this.key = key;
+        this.batchThreshold = batchThreshold;
+    }
+
+    /**
+     * of
+     * <p>
+     * The poller shared by the callers signing with the credentials of the scope, see CredentialScope. A caller whose
+     * credentials are unknown gets a poller of its own.
+     */
+    static StatusPoller of(final String awsAccountId, final String region, final String credentialScope,
+                           final HandlerSettings settings) {
+        if (credentialScope == null) {
+            return new StatusPoller(settings.getStatusPollBatchThreshold());
+        }
+        return POLLERS.computeIfAbsent(String.join("/", awsAccountId, region, credentialScope,
+                        Integer.toString(settings.getStatusPollBatchThreshold())),
+                key -> new StatusPoller(key, settings.getStatusPollBatchThreshold()));
+    }
+
+    /**
+     * poll
+     * <p>
+     * Returns the current state of the profile, or throws what GetInferenceProfile would throw for it, for instance
+     * ResourceNotFoundException once it is gone. Returns null when the deadline passed before the state came in.
+     */
+    public GetInferenceProfileResponse poll(final ProxyClient<BedrockClient> proxyClient,
+                                            final String inferenceProfileArn,
+                                            final Deadline deadline) {
+        final CompletableFuture<GetInferenceProfileResponse> result;
+        synchronized (lock) {
+            callers++;
+            result = waiting.computeIfAbsent(inferenceProfileArn, arn -> new CompletableFuture<>());
+        }
+        try {
+            while (!result.isDone()) {
+                if (deadline.isExpired(System.nanoTime())) {
+                    return null;
+                }
+                final Map<String, CompletableFuture<GetInferenceProfileResponse>> batch;
+                final CompletableFuture<Void> running;
+                synchronized (lock) {
+                    if (result.isDone()) {
+                        break;
+                    }
+                    if (refreshing) {
+                        batch = null;
+                        running = refresh;
+                    } else {
+                        refreshing = true;
+                        batch = waiting;
+                        waiting = new LinkedHashMap<>();
+                        running = null;
+                    }
+                }
+                if (batch == null) {
+                    // our ARN was queued after this refresh started, the next one picks it up
+                    if (!await(running, deadline)) {
+                        return null;
+                    }
+                    continue;
+                }
+                refreshBatch(proxyClient, batch, deadline);
+            }
+            return AsyncHelper.join(result);
+        } finally {
+            leave();
+        }
+    }
+
+    /**
+     * refresh
+     * <p>
+     * Completes the future of every ARN of the batch, unless the deadline passes first. The futures of the ARNs it
+     * did not get to are left as they are.
+     */
+    void refresh(final ProxyClient<BedrockClient> proxyClient,
+                 final Map<String, CompletableFuture<GetInferenceProfileResponse>> batch,
+                 final Deadline deadline) {
+        if (batch.size() < batchThreshold) {
+            getEach(proxyClient, batch, deadline);
+            return;
+        }
+
+        final Map<String, CompletableFuture<GetInferenceProfileResponse>> unseen = new LinkedHashMap<>(batch);
+        String nextToken = null;
+        try {
+            do {
+                if (deadline.isExpired(System.nanoTime())) {
+                    return;
+                }
+                final ListInferenceProfilesResponse page = proxyClient.injectCredentialsAndInvokeV2(
+                        Translator.translateToListRequest(nextToken, PAGE_SIZE, InferenceProfileType.APPLICATION.toString()),
+                        proxyClient.client()::listInferenceProfiles);
+                for (final InferenceProfileSummary summary : page.inferenceProfileSummaries()) {
+                    final CompletableFuture<GetInferenceProfileResponse> future = unseen.remove(summary.inferenceProfileArn());
+                    if (future != null) {
+                        future.complete(Translator.translateToReadResponse(summary));
+                    }
+                }
+                nextToken = page.nextToken();
+            } while (nextToken != null && !unseen.isEmpty());
+        } catch (final RuntimeException e) {
+            unseen.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        getEach(proxyClient, unseen, deadline);
+    }
+
+    /**
+     * Runs the refresh of a batch taken off the queue and queues what it did not get to again, so the next caller
+     * still waiting picks those ARNs up.
+     */
+    private void refreshBatch(final ProxyClient<BedrockClient> proxyClient,
+                              final Map<String, CompletableFuture<GetInferenceProfileResponse>> batch,
+                              final Deadline deadline) {
+        boolean finished = false;
+        try {
+            refresh(proxyClient, batch, deadline);
+            finished = true;
+        } finally {
+            synchronized (lock) {
+                for (final Map.Entry<String, CompletableFuture<GetInferenceProfileResponse>> entry : batch.entrySet()) {
+                    if (entry.getValue().isDone()) {
+                        continue;
+                    }
+                    if (finished) {
+                        requeue(entry.getKey(), entry.getValue());
+                    } else {
+                        entry.getValue().completeExceptionally(new IllegalStateException("Status poll ended without a result"));
+                    }
+                }
+                refreshing = false;
+                refresh.complete(null);
+                refresh = new CompletableFuture<>();
+            }
+        }
+    }
+
+    /**
+     * Queues the future again. When the ARN was queued anew in the meantime, the future follows the one queued.
+     */
+    private void requeue(final String inferenceProfileArn, final CompletableFuture<GetInferenceProfileResponse> future) {
+        final CompletableFuture<GetInferenceProfileResponse> queued = waiting.putIfAbsent(inferenceProfileArn, future);
+        if (queued != null) {
+            queued.whenComplete((response, exception) -> {
+                if (exception != null) {
+                    future.completeExceptionally(exception instanceof CompletionException && exception.getCause() != null ?
+                            exception.getCause() : exception);
+                } else {
+                    future.complete(response);
+                }
+            });
+        }
+    }
+
+    /**
+     * Once the last caller left, nobody waits for the ARNs still queued, and the poller is dropped so a later caller
+     * starts a new one.
+     */
+    private void leave() {
+        synchronized (lock) {
+            callers--;
+            if (callers > 0) {
+                return;
+            }
+            waiting.clear();
+        }
+        if (key != null) {
+            POLLERS.remove(key, this);
+        }
+    }
+
+    /**
+     * Waits for the running refresh, no longer than the deadline. False when the caller should stop waiting.
+     */
+    private static boolean await(final CompletableFuture<Void> running, final Deadline deadline) {
+        try {
+            running.get(deadline.remainingNanos(System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException | ExecutionException e) {
+            // the caller checks its deadline before it waits again, the refresh itself never fails
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private static void getEach(final ProxyClient<BedrockClient> proxyClient,
+                                final Map<String, CompletableFuture<GetInferenceProfileResponse>> futures,
+                                final Deadline deadline) {
+        for (final Map.Entry<String, CompletableFuture<GetInferenceProfileResponse>> entry : futures.entrySet()) {
+            if (deadline.isExpired(System.nanoTime())) {
+                return;
+            }
+            try {
+                entry.getValue().complete(proxyClient.injectCredentialsAndInvokeV2(
+                        GetInferenceProfileRequest.builder().inferenceProfileIdentifier(entry.getKey()).build(),
+                        proxyClient.client()::getInferenceProfile));
+            } catch (final RuntimeException e) {
+                entry.getValue().completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Tags to add and tag keys to remove during update.
+ * <p>
+ * System tags, stack level tags and resource level tags are merged straight from the request into maps sized for
+ * them, without going through SDK Tag objects, and a single pass over the desired tags yields the tags to add. The
+ * previous tags are only scanned for removed keys when some of them are missing from the desired tags. Later sources
+ * win on duplicate keys, and resource level tags without a value are skipped, as in
+ * {@link TagHelper#getNewDesiredTags}.
+ */
+@lombok.Getter
+public final class TagDiff {
+    private static final TagDiff EMPTY = new TagDiff(Collections.emptyMap(), Collections.emptySet());
+
+    private final Map<String, String> tagsToAdd;
+    private final Set<String> tagKeysToRemove;
+
+    private TagDiff(final Map<String, String> tagsToAdd, final Set<String> tagKeysToRemove) {
+        this.tagsToAdd = tagsToAdd;
+        this.tagKeysToRemove = tagKeysToRemove;
+    }
+
+    /**
+     * of
+     * <p>
+     * Computes the tag changes an update request asks for.
+     */
+    public static TagDiff of(final ResourceHandlerRequest<ResourceModel> handlerRequest) {
+        final ResourceModel previousModel = handlerRequest.getPreviousResourceState();
+        final ResourceModel desiredModel = handlerRequest.getDesiredResourceState();
+        return of(
+                mergeTags(handlerRequest.getPreviousSystemTags(), handlerRequest.getPreviousResourceTags(),
+                        previousModel == null ? null : previousModel.getTags()),
+                mergeTags(handlerRequest.getSystemTags(), handlerRequest.getDesiredResourceTags(),
+                        desiredModel == null ? null : desiredModel.getTags()));
+    }
+
+    /**
+     * of
+     * <p>
+     * Computes the changes that turn the previous tags into the desired tags.
+     */
+    public static TagDiff of(final Map<String, String> previousTags, final Map<String, String> desiredTags) {
+        if (previousTags.isEmpty() && desiredTags.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, String> tagsToAdd = null;
+        int keptKeys = 0;
+        for (final Map.Entry<String, String> desiredTag : desiredTags.entrySet()) {
+            final String previousValue = previousTags.get(desiredTag.getKey());
+            if (previousValue != null || previousTags.containsKey(desiredTag.getKey())) {
+                keptKeys++;
+                if (Objects.equals(previousValue, desiredTag.getValue())) {
+                    continue;
+                }
+            }
+            if (tagsToAdd == null) {
+                tagsToAdd = newHashMap(desiredTags.size());
+            }
+            tagsToAdd.put(desiredTag.getKey(), desiredTag.getValue());
+        }
+
+        Set<String> tagKeysToRemove = Collections.emptySet();
+        if (keptKeys < previousTags.size()) {
+            tagKeysToRemove = new HashSet<>(capacityFor(previousTags.size() - keptKeys));
+            for (final String previousKey : previousTags.keySet()) {
+                if (!desiredTags.containsKey(previousKey)) {
+                    tagKeysToRemove.add(previousKey);
+                }
+            }
+        }
+
+        return new TagDiff(tagsToAdd == null ? Collections.emptyMap() : tagsToAdd, tagKeysToRemove);
+    }
+
+    /**
+     * mergeTags
+     * <p>
+     * Merges system tags, stack level tags and resource level tags into one tag-name -> tag-value map.
+     */
+    static Map<String, String> mergeTags(final Map<String, String> systemTags,
+                                         final Map<String, String> stackTags,
+                                         final List<Tag> resourceTags) {
+        final int expectedSize = sizeOf(systemTags) + sizeOf(stackTags) + (resourceTags == null ? 0 : resourceTags.size());
+        final Map<String, String> tags = newHashMap(expectedSize);
+        if (systemTags != null) {
+            tags.putAll(systemTags);
+        }
+        if (stackTags != null) {
+            tags.putAll(stackTags);
+        }
+        if (resourceTags != null) {
+            for (final Tag tag : resourceTags) {
+                if (tag.getValue() != null) {
+                    tags.put(tag.getKey(), tag.getValue());
+                }
+            }
+        }
+        return tags;
+    }
+
+    public boolean isEmpty() {
+        return tagsToAdd.isEmpty() && tagKeysToRemove.isEmpty();
+    }
+
+    private static int sizeOf(final Map<String, String> tags) {
+        return tags == null ? 0 : tags.size();
+    }
+
+    private static Map<String, String> newHashMap(final int expectedSize) {
+        return new HashMap<>(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
+    }
+}
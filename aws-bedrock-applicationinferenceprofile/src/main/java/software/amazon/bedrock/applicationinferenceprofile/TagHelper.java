@@ -2,14 +2,13 @@ package software.amazon.bedrock.applicationinferenceprofile;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -24,6 +23,9 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class TagHelper {
+    static final String STACK_ID_TAG = "aws:cloudformation:stack-id";
+    static final String LOGICAL_ID_TAG = "aws:cloudformation:logical-id";
+
     /**
      * convertToMap
      * <p>
@@ -107,22 +109,11 @@ public class TagHelper {
      * System tags can change on resource update if the resource is imported to the stack.
      */
     public static Map<String, String> getPreviouslyAttachedTags(final ResourceHandlerRequest<ResourceModel> handlerRequest) {
-        final Map<String, String> previousTags = new HashMap<>();
-        // get previous system tags
-        if (handlerRequest.getPreviousSystemTags() != null) {
-            previousTags.putAll(handlerRequest.getPreviousSystemTags());
-        }
-
-        // get previous stack level tags from handlerRequest
-        if (handlerRequest.getPreviousResourceTags() != null) {
-            previousTags.putAll(handlerRequest.getPreviousResourceTags());
-        }
-
-        // get resource level tags from previous resource state based on your tag property name
-        if (handlerRequest.getPreviousResourceState() != null && handlerRequest.getPreviousResourceState().getTags() != null) {
-            previousTags.putAll(convertToMap(Translator.translateToSdkTags(handlerRequest.getPreviousResourceState().getTags())));
-        }
-        return previousTags;
+        final ResourceModel previousModel = handlerRequest.getPreviousResourceState();
+        return TagDiff.mergeTags(
+                handlerRequest.getPreviousSystemTags(),
+                handlerRequest.getPreviousResourceTags(),
+                previousModel == null ? null : previousModel.getTags());
     }
 
     /**
@@ -138,22 +129,11 @@ public class TagHelper {
      * System tags can change on resource update if the resource is imported to the stack.
      */
     public static Map<String, String> getNewDesiredTags(final ResourceHandlerRequest<ResourceModel> handlerRequest) {
-        final Map<String, String> desiredTags = new HashMap<>();
-
-        if (handlerRequest.getSystemTags() != null) {
-            desiredTags.putAll(handlerRequest.getSystemTags());
-        }
-
-        // get desired stack level tags from handlerRequest
-        if (handlerRequest.getDesiredResourceTags() != null) {
-            desiredTags.putAll(handlerRequest.getDesiredResourceTags());
-        }
-
-        // get resource level tags from resource model based on your tag property name
-        if (handlerRequest.getDesiredResourceState() != null && handlerRequest.getDesiredResourceState().getTags() != null) {
-            desiredTags.putAll(convertToMap(Translator.translateToSdkTags(handlerRequest.getDesiredResourceState().getTags())));
-        }
-        return desiredTags;
+        final ResourceModel desiredModel = handlerRequest.getDesiredResourceState();
+        return TagDiff.mergeTags(
+                handlerRequest.getSystemTags(),
+                handlerRequest.getDesiredResourceTags(),
+                desiredModel == null ? null : desiredModel.getTags());
     }
 
     /**
@@ -162,11 +142,7 @@ public class TagHelper {
      * Determines the tags the customer desired to define or redefine.
      */
     public static Map<String, String> generateTagsToAdd(final Map<String, String> previousTags, final Map<String, String> desiredTags) {
-        return desiredTags.entrySet().stream()
-                .filter(e -> !previousTags.containsKey(e.getKey()) || !Objects.equals(previousTags.get(e.getKey()), e.getValue()))
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue));
+        return TagDiff.of(previousTags, desiredTags).getTagsToAdd();
     }
 
     /**
@@ -175,32 +151,70 @@ public class TagHelper {
      * Determines the tags the customer desired to remove from the function.
      */
     public static Set<String> generateTagsToRemove(final Map<String, String> previousTags, final Map<String, String> desiredTags) {
-        final Set<String> desiredTagNames = desiredTags.keySet();
-
-        return previousTags.keySet().stream()
-                .filter(tagName -> !desiredTagNames.contains(tagName))
-                .collect(Collectors.toSet());
+        return TagDiff.of(previousTags, desiredTags).getTagKeysToRemove();
     }
 
     /**
      * generateTagsToAdd
      * <p>
-     * Determines the tags the customer desired to define or redefine.
+     * Determines the tags the customer desired to define or redefine. The result is a copy, it does not follow
+     * later changes of the given sets.
      */
     public Set<Tag> generateTagsToAdd(final Set<Tag> previousTags, final Set<Tag> desiredTags) {
-        return Sets.difference(new HashSet<>(desiredTags), new HashSet<>(previousTags));
+        return ImmutableSet.copyOf(Sets.difference(desiredTags, previousTags));
     }
 
     /**
      * getTagsToRemove
      * <p>
-     * Determines the tags the customer desired to remove from the function.
+     * Determines the tags the customer desired to remove from the function. Like generateTagsToAdd, the result is
+     * a copy.
      */
     public Set<Tag> generateTagsToRemove(final Set<Tag> previousTags, final Set<Tag> desiredTags) {
-        return Sets.difference(new HashSet<>(previousTags), new HashSet<>(desiredTags));
+        return ImmutableSet.copyOf(Sets.difference(previousTags, desiredTags));
     }
 
 
+    /**
+     * applyTagChanges
+     * <p>
+     * Applies the tags added and removed during update to the tags of the model. Tags keep their previous order,
+     * added tags are appended.
+     */
+    public static List<software.amazon.bedrock.applicationinferenceprofile.Tag> applyTagChanges(
+            final List<software.amazon.bedrock.applicationinferenceprofile.Tag> tags,
+            final Map<String, String> addedTags,
+            final Set<String> removedTags) {
+        final Map<String, String> updatedTags = new LinkedHashMap<>();
+        if (tags != null) {
+            tags.forEach(tag -> updatedTags.put(tag.getKey(), tag.getValue()));
+        }
+        removedTags.forEach(updatedTags::remove);
+        updatedTags.putAll(addedTags);
+        return updatedTags.entrySet().stream()
+                .map(tag -> software.amazon.bedrock.applicationinferenceprofile.Tag.builder()
+                        .key(tag.getKey())
+                        .value(tag.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * isCreatedForRequest
+     * <p>
+     * Determines whether an existing resource was created for the resource of this request: CloudFormation puts the
+     * stack id and logical id system tags on everything it creates, so both have to match. Without system tags on
+     * the request nothing matches.
+     */
+    public static boolean isCreatedForRequest(final Map<String, String> tags, final ResourceHandlerRequest<ResourceModel> handlerRequest) {
+        final Map<String, String> systemTags = handlerRequest.getSystemTags();
+        if (MapUtils.isEmpty(systemTags) || systemTags.get(STACK_ID_TAG) == null || systemTags.get(LOGICAL_ID_TAG) == null) {
+            return false;
+        }
+        return systemTags.get(STACK_ID_TAG).equals(tags.get(STACK_ID_TAG))
+                && systemTags.get(LOGICAL_ID_TAG).equals(tags.get(LOGICAL_ID_TAG));
+    }
+
     /**
      * tagResource during update
      * <p>
@@ -212,12 +226,19 @@ public class TagHelper {
         logger.log(String.format("[UPDATE][IN PROGRESS] Going to add tags for ApplicationInferenceProfile resource: " +
                         "%s with AccountId: %s",
                 resourceModel.getInferenceProfileIdentifier(), handlerRequest.getAwsAccountId()));
+        final String cacheScope = CredentialScope.keyPrefix(handlerRequest.getAwsAccountId(), handlerRequest.getRegion(),
+                CredentialScope.of(serviceClient));
 
         return proxy.initiate("AWS-Bedrock-ApplicationInferenceProfile::TagOps", serviceClient, resourceModel, callbackContext)
                 .translateToServiceRequest(model ->
                         Translator.tagResourceRequest(model, addedTags))
-                .makeServiceCall((request, client) ->
-                        proxy.injectCredentialsAndInvokeV2(request, client.client()::tagResource))
+                .makeServiceCall((request, client) -> {
+                    try {
+                        return client.injectCredentialsAndInvokeV2(request, client.client()::tagResource);
+                    } finally {
+                        ReadCache.invalidate(cacheScope, request.resourceARN());
+                    }
+                })
                 .handleError(BaseHandlerStd::handleError)
                 .progress();
     }
@@ -232,12 +253,19 @@ public class TagHelper {
                   final ResourceHandlerRequest<ResourceModel> handlerRequest, final CallbackContext callbackContext, final Set<String> removedTags, final Logger logger) {
         logger.log(String.format("[UPDATE][IN PROGRESS] Going to remove tags for ApplicationInferenceProfile resource: %s with AccountId: %s",
                 resourceModel.getInferenceProfileIdentifier(), handlerRequest.getAwsAccountId()));
+        final String cacheScope = CredentialScope.keyPrefix(handlerRequest.getAwsAccountId(), handlerRequest.getRegion(),
+                CredentialScope.of(serviceClient));
 
         return proxy.initiate("AWS-Bedrock-ApplicationInferenceProfile::TagOps", serviceClient, resourceModel, callbackContext)
                 .translateToServiceRequest(model ->
                         Translator.untagResourceRequest(model, removedTags))
-                .makeServiceCall((request, client) ->
-                        proxy.injectCredentialsAndInvokeV2(request, client.client()::untagResource))
+                .makeServiceCall((request, client) -> {
+                    try {
+                        return client.injectCredentialsAndInvokeV2(request, client.client()::untagResource);
+                    } finally {
+                        ReadCache.invalidate(cacheScope, request.resourceARN());
+                    }
+                })
                 .handleError(BaseHandlerStd::handleError)
                 .progress();
     }
@@ -0,0 +1,181 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Sends the tag changes of an update as bounded TagResource and UntagResource calls.
+ * <p>
+ * The added tags and the removed keys are sorted by key and split into chunks of at most {@code chunkSize} entries,
+ * so the same request always yields the same chunks. Pending chunks are sent at the same time and every chunk that
+ * went through is recorded in the CallbackContext. When a chunk is throttled the handler is called back and only the
+ * chunks still missing are sent again.
+ */
+public class TagUpdater {
+    private static final String TAG_RESOURCE = "TagResource";
+    private static final String UNTAG_RESOURCE = "UntagResource";
+
+    private final int chunkSize;
+
+    public TagUpdater(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    static TagUpdater fromSettings(final HandlerSettings settings) {
+        return new TagUpdater(settings.getTagChunkSize());
+    }
+
+    /**
+     * apply
+     * <p>
+     * Sends the chunks not yet recorded as completed and merges their results. A failed chunk fails the update and
+     * is named in the message, otherwise a throttled chunk re-invokes the handler after the longest delay asked for.
+     */
+    public ProgressEvent<ResourceModel, CallbackContext> apply(final AmazonWebServicesClientProxy proxy,
+                                                               final ProxyClient<BedrockClient> proxyClient,
+                                                               final ResourceModel model,
+                                                               final ResourceHandlerRequest<ResourceModel> request,
+                                                               final CallbackContext callbackContext,
+                                                               final Map<String, String> tagsToAdd,
+                                                               final Set<String> tagKeysToRemove,
+                                                               final Logger logger) {
+        // every chunk runs the TagOps call graph, each one records its request in a context of its own
+        final Map<String, Supplier<ProgressEvent<ResourceModel, CallbackContext>>> pendingChunks = new LinkedHashMap<>();
+        final List<Map<String, String>> tagChunks = chunkTags(tagsToAdd, chunkSize);
+        for (int i = 0; i < tagChunks.size(); i++) {
+            final Map<String, String> tagChunk = tagChunks.get(i);
+            pendingChunks.put(chunkName(TAG_RESOURCE, i, tagChunks.size()), () ->
+                    TagHelper.tagResource(proxy, proxyClient, model, request, new CallbackContext(), tagChunk, logger));
+        }
+        final List<Set<String>> untagChunks = chunkKeys(tagKeysToRemove, chunkSize);
+        for (int i = 0; i < untagChunks.size(); i++) {
+            final Set<String> untagChunk = untagChunks.get(i);
+            pendingChunks.put(chunkName(UNTAG_RESOURCE, i, untagChunks.size()), () ->
+                    TagHelper.untagResource(proxy, proxyClient, model, request, new CallbackContext(), untagChunk, logger));
+        }
+        pendingChunks.keySet().removeAll(callbackContext.getCompletedTagChunks());
+        if (pendingChunks.isEmpty()) {
+            return ProgressEvent.progress(model, callbackContext);
+        }
+
+        return mergeResults(model, callbackContext, send(pendingChunks));
+    }
+
+    private static Map<String, ProgressEvent<ResourceModel, CallbackContext>> send(
+            final Map<String, Supplier<ProgressEvent<ResourceModel, CallbackContext>>> pendingChunks) {
+        final Map<String, ProgressEvent<ResourceModel, CallbackContext>> results = new LinkedHashMap<>();
+        if (pendingChunks.size() == 1) {
+            pendingChunks.forEach((name, chunk) -> results.put(name, chunk.get()));
+            return results;
+        }
+
+        final Map<String, CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>>> futures = new LinkedHashMap<>();
+        pendingChunks.forEach((name, chunk) -> futures.put(name, AsyncHelper.supplyAsync(chunk)));
+        futures.values().forEach(AsyncHelper::awaitQuietly);
+        futures.forEach((name, future) -> results.put(name, AsyncHelper.join(future)));
+        return results;
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> mergeResults(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final Map<String, ProgressEvent<ResourceModel, CallbackContext>> results) {
+        ProgressEvent<ResourceModel, CallbackContext> firstFailure = null;
+        ProgressEvent<ResourceModel, CallbackContext> longestRetry = null;
+        final StringBuilder failures = new StringBuilder();
+        for (final Map.Entry<String, ProgressEvent<ResourceModel, CallbackContext>> result : results.entrySet()) {
+            final ProgressEvent<ResourceModel, CallbackContext> event = result.getValue();
+            if (event.isFailed()) {
+                firstFailure = firstFailure == null ? event : firstFailure;
+                failures.append(failures.length() > 0 ? "; " : "")
+                        .append(String.format("%s failed: %s", result.getKey(), event.getMessage()));
+            } else if (event.getErrorCode() != null || event.getCallbackDelaySeconds() > 0) {
+                if (longestRetry == null || event.getCallbackDelaySeconds() > longestRetry.getCallbackDelaySeconds()) {
+                    longestRetry = event;
+                }
+            } else {
+                callbackContext.getCompletedTagChunks().add(result.getKey());
+            }
+        }
+
+        if (firstFailure != null) {
+            return ProgressEvent.failed(model, callbackContext, firstFailure.getErrorCode(), failures.toString());
+        }
+        if (longestRetry != null) {
+            return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                    .resourceModel(model)
+                    .callbackContext(callbackContext)
+                    .status(OperationStatus.IN_PROGRESS)
+                    .callbackDelaySeconds(longestRetry.getCallbackDelaySeconds())
+                    .errorCode(longestRetry.getErrorCode())
+                    .message(longestRetry.getMessage())
+                    .build();
+        }
+        return ProgressEvent.progress(model, callbackContext);
+    }
+
+    /**
+     * chunkTags
+     * <p>
+     * Splits the tags, sorted by key, into chunks of at most chunkSize tags.
+     */
+    static List<Map<String, String>> chunkTags(final Map<String, String> tags, final int chunkSize) {
+        if (tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Map<String, String>> chunks = new ArrayList<>((tags.size() + chunkSize - 1) / chunkSize);
+        Map<String, String> chunk = null;
+        for (final Map.Entry<String, String> tag : new TreeMap<>(tags).entrySet()) {
+            if (chunk == null || chunk.size() == chunkSize) {
+                chunk = new LinkedHashMap<>();
+                chunks.add(chunk);
+            }
+            chunk.put(tag.getKey(), tag.getValue());
+        }
+        return chunks;
+    }
+
+    /**
+     * chunkKeys
+     * <p>
+     * Splits the tag keys, sorted, into chunks of at most chunkSize keys.
+     */
+    static List<Set<String>> chunkKeys(final Set<String> tagKeys, final int chunkSize) {
+        if (tagKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Set<String>> chunks = new ArrayList<>((tagKeys.size() + chunkSize - 1) / chunkSize);
+        Set<String> chunk = null;
+        for (final String tagKey : new TreeSet<>(tagKeys)) {
+            if (chunk == null || chunk.size() == chunkSize) {
+                chunk = new LinkedHashSet<>();
+                chunks.add(chunk);
+            }
+            chunk.add(tagKey);
+        }
+        return chunks;
+    }
+
+    private static String chunkName(final String operation, final int index, final int count) {
+        return count == 1 ? operation : String.format("%s[%d/%d]", operation, index + 1, count);
+    }
+}
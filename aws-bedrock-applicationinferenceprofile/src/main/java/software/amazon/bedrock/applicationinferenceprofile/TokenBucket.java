@@ -0,0 +1,130 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import software.amazon.awssdk.services.bedrock.model.ThrottlingException;
+
+/**
+ * Client-side rate limit of one Bedrock API, shared by every call a container makes for an account and region.
+ * <p>
+ * Callers reserve the next free slot in arrival order and sleep until it comes up, so a burst of calls is spread out
+ * at the current rate instead of racing for permits; up to one second of unused rate is kept for bursts. The rate
+ * adapts to the service: every throttled call halves it, down to a tenth of the configured rate, and every successful
+ * call gives back a twentieth of the configured rate.
+ */
+public class TokenBucket {
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double MIN_RATE_FRACTION = 0.1;
+    private static final double INCREASE_FRACTION = 0.05;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxRate;
+    private final long maxWaitNanos;
+    // fair, so reservations are handed out in the order callers asked for them
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    private double rate;
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    public TokenBucket(final double permitsPerSecond, final Duration maxWait, final long now) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.maxRate = permitsPerSecond;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rate = permitsPerSecond;
+        this.storedPermits = maxBurst();
+        this.nextFreeNanos = now;
+    }
+
+    /**
+     * acquire
+     * <p>
+     * Waits for a permit. Throws ThrottlingException without waiting when the queue ahead is longer than maxWait,
+     * or than the time the caller has left, so the caller handles it like a throttled call.
+     */
+    public void acquire(final String api, final long remainingNanos) {
+        final long waitNanos = reserve(System.nanoTime(), remainingNanos);
+        if (waitNanos < 0) {
+            throw ThrottlingException.builder()
+                    .message(remainingNanos < maxWaitNanos ?
+                            String.format("Client-side rate limit of %s would delay the call past the deadline", api) :
+                            String.format("Client-side rate limit of %s exceeded", api))
+                    .build();
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ThrottlingException.builder()
+                        .message(String.format("Interrupted waiting for the rate limit of %s", api))
+                        .build();
+            }
+        }
+    }
+
+    long reserve(final long now) {
+        return reserve(now, maxWaitNanos);
+    }
+
+    /**
+     * reserve
+     * <p>
+     * Takes the next free permit and returns how long to wait for it, or -1 without taking it when that is longer
+     * than maxWait or than the time the caller has left.
+     */
+    long reserve(final long now, final long remainingNanos) {
+        lock.lock();
+        try {
+            if (now > nextFreeNanos) {
+                storedPermits = Math.min(maxBurst(), storedPermits + (now - nextFreeNanos) * rate / NANOS_PER_SECOND);
+                nextFreeNanos = now;
+            }
+            final long waitNanos = nextFreeNanos - now;
+            if (waitNanos > Math.min(maxWaitNanos, remainingNanos)) {
+                return -1;
+            }
+            final double fromStored = Math.min(1, storedPermits);
+            storedPermits -= fromStored;
+            nextFreeNanos += (long) ((1 - fromStored) * NANOS_PER_SECOND / rate);
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            rate = Math.min(maxRate, rate + maxRate * INCREASE_FRACTION);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onThrottled() {
+        lock.lock();
+        try {
+            rate = Math.max(maxRate * MIN_RATE_FRACTION, rate * DECREASE_FACTOR);
+            storedPermits = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double maxBurst() {
+        return Math.max(1, rate);
+    }
+}
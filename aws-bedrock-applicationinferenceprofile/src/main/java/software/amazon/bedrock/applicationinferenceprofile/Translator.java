@@ -15,7 +15,8 @@ import software.amazon.awssdk.services.bedrock.model.DeleteInferenceProfileReque
 import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
 import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
 import software.amazon.awssdk.services.bedrock.model.InferenceProfileModelSource;
-import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesResponse;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesRequest;
 import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.bedrock.model.TagResourceRequest;
 import software.amazon.awssdk.services.bedrock.model.UntagResourceRequest;
@@ -67,6 +68,50 @@ public class Translator {
                 .build();
     }
 
+    /**
+     * Fill the service managed properties of a model from a GetInferenceProfile response. Tags stay as they are
+     * on the model and the write-only ModelSource is dropped, so the result matches what a read returns.
+     *
+     * @param response GetInferenceProfile response
+     * @param model    resource model to update
+     * @return the updated resource model
+     */
+    static ResourceModel translateFromReadResponse(final GetInferenceProfileResponse response, final ResourceModel model) {
+        model.setInferenceProfileIdentifier(response.inferenceProfileArn());
+        model.setInferenceProfileName(response.inferenceProfileName());
+        model.setInferenceProfileArn(response.inferenceProfileArn());
+        model.setInferenceProfileId(response.inferenceProfileId());
+        model.setDescription(response.description());
+        model.setStatus(response.statusAsString());
+        model.setType(response.typeAsString());
+        model.setCreatedAt(toStringIfNotNull(response.createdAt()));
+        model.setUpdatedAt(toStringIfNotNull(response.updatedAt()));
+        model.setModels(translateFromSdkInferenceProfileModels(response.models()));
+        model.setModelSource(null);
+        return model;
+    }
+
+    /**
+     * Turn a listed summary into the GetInferenceProfile response it stands for, so a status poll answered by a
+     * listing is handled like one answered by GetInferenceProfile
+     *
+     * @param summary summary of a listed profile
+     * @return GetInferenceProfile response with the same properties
+     */
+    static GetInferenceProfileResponse translateToReadResponse(final InferenceProfileSummary summary) {
+        return GetInferenceProfileResponse.builder()
+                .inferenceProfileName(summary.inferenceProfileName())
+                .description(summary.description())
+                .createdAt(summary.createdAt())
+                .updatedAt(summary.updatedAt())
+                .inferenceProfileArn(summary.inferenceProfileArn())
+                .models(summary.models())
+                .inferenceProfileId(summary.inferenceProfileId())
+                .status(summary.statusAsString())
+                .type(summary.typeAsString())
+                .build();
+    }
+
     public static ListTagsForResourceRequest translateToListTagsRequest(final ResourceModel model) {
         return ListTagsForResourceRequest.builder()
                 .resourceARN(model.getInferenceProfileIdentifier())
@@ -88,11 +133,16 @@ public class Translator {
      * @return CFN InferenceProfileModel
      */
     public static List<InferenceProfileModel> translateFromSdkInferenceProfileModels(final List<software.amazon.awssdk.services.bedrock.model.InferenceProfileModel> inferenceProfileModels) {
-        return streamOfOrEmpty(inferenceProfileModels)
-                .map(inferenceProfileModel -> InferenceProfileModel.builder()
-                        .modelArn(inferenceProfileModel.modelArn())
-                        .build())
-                .collect(Collectors.toList());
+        if (inferenceProfileModels == null) {
+            return new ArrayList<>();
+        }
+        final List<InferenceProfileModel> models = new ArrayList<>(inferenceProfileModels.size());
+        for (final software.amazon.awssdk.services.bedrock.model.InferenceProfileModel inferenceProfileModel : inferenceProfileModels) {
+            models.add(InferenceProfileModel.builder()
+                    .modelArn(inferenceProfileModel.modelArn())
+                    .build());
+        }
+        return models;
     }
 
     /**
@@ -107,21 +157,64 @@ public class Translator {
                 .build();
     }
 
-    static List<ResourceModel> translateFromListResponse(final ListInferenceProfilesResponse response) {
-        return streamOfOrEmpty(response.inferenceProfileSummaries())
-                .map(inferenceProfileSummary -> ResourceModel.builder()
-                        .inferenceProfileIdentifier(inferenceProfileSummary.inferenceProfileArn())
-                        .inferenceProfileArn(inferenceProfileSummary.inferenceProfileArn())
-                        .inferenceProfileName(inferenceProfileSummary.inferenceProfileName())
-                        .inferenceProfileId(inferenceProfileSummary.inferenceProfileId())
-                        .type(inferenceProfileSummary.typeAsString())
-                        .status(inferenceProfileSummary.statusAsString())
-                        .description(inferenceProfileSummary.description())
-                        .models(translateFromSdkInferenceProfileModels(inferenceProfileSummary.models()))
-                        .createdAt(toStringIfNotNull(inferenceProfileSummary.createdAt()))
-                        .updatedAt(toStringIfNotNull(inferenceProfileSummary.updatedAt()))
-                        .build())
-                .collect(Collectors.toList());
+    /**
+     * Request to list resources
+     *
+     * @param nextToken token of the page to list, null for the first page
+     * @param maxResults most summaries the page may hold
+     * @param type inference profile type to list
+     * @return awsRequest the aws service request to list resources
+     */
+    static ListInferenceProfilesRequest translateToListRequest(final String nextToken, final int maxResults, final String type) {
+        return ListInferenceProfilesRequest.builder()
+                .nextToken(nextToken)
+                .maxResults(maxResults)
+                .typeEquals(type)
+                .build();
+    }
+
+    static ResourceModel translateFromSummary(final InferenceProfileSummary inferenceProfileSummary) {
+        return translateFromSummary(inferenceProfileSummary, ListProjection.ALL);
+    }
+
+    /**
+     * Translate a summary to a listed resource model holding only the projected properties
+     *
+     * @param inferenceProfileSummary summary of a listed profile
+     * @param projection properties to fill next to the primary identifier
+     * @return the listed resource model
+     */
+    static ResourceModel translateFromSummary(final InferenceProfileSummary inferenceProfileSummary, final ListProjection projection) {
+        final ResourceModel.ResourceModelBuilder builder = ResourceModel.builder()
+                .inferenceProfileIdentifier(inferenceProfileSummary.inferenceProfileArn());
+        if (projection.isInferenceProfileArn()) {
+            builder.inferenceProfileArn(inferenceProfileSummary.inferenceProfileArn());
+        }
+        if (projection.isInferenceProfileName()) {
+            builder.inferenceProfileName(inferenceProfileSummary.inferenceProfileName());
+        }
+        if (projection.isInferenceProfileId()) {
+            builder.inferenceProfileId(inferenceProfileSummary.inferenceProfileId());
+        }
+        if (projection.isType()) {
+            builder.type(inferenceProfileSummary.typeAsString());
+        }
+        if (projection.isStatus()) {
+            builder.status(inferenceProfileSummary.statusAsString());
+        }
+        if (projection.isDescription()) {
+            builder.description(inferenceProfileSummary.description());
+        }
+        if (projection.isModels()) {
+            builder.models(translateFromSdkInferenceProfileModels(inferenceProfileSummary.models()));
+        }
+        if (projection.isCreatedAt()) {
+            builder.createdAt(toStringIfNotNull(inferenceProfileSummary.createdAt()));
+        }
+        if (projection.isUpdatedAt()) {
+            builder.updatedAt(toStringIfNotNull(inferenceProfileSummary.updatedAt()));
+        }
+        return builder.build();
     }
 
     private static <T> Stream<T> streamOfOrEmpty(final Collection<T> collection) {
@@ -11,53 +11,65 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class UpdateHandler extends BaseHandlerStd {
-    private Logger logger;
+    // ReadHandler keeps no request state, so every update shares this one for its verification read
+    private final ReadHandler readHandler = new ReadHandler(settings);
+
+    public UpdateHandler() {
+        super();
+    }
+
+    public UpdateHandler(final HandlerSettings settings) {
+        super(settings);
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final ProxyClient<BedrockClient> proxyClient,
+            final Deadline deadline,
             final Logger logger) {
 
-        this.logger = logger;
-
         logger.log(String.format("Handling UpdateHandler request for AccountId %s", request.getAwsAccountId()));
 
-        final Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request);
-        final Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
-        final Map<String, String> tagsToAdd = TagHelper.generateTagsToAdd(previousTags, desiredTags);
-        final Set<String> tagKeysToRemove = TagHelper.generateTagsToRemove(previousTags, desiredTags);
-
-        return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(
-                        progress -> tagsToAdd.isEmpty() ?
-                                progress :
-                                TagHelper.tagResource(
-                                        proxy,
-                                        proxyClient,
-                                        progress.getResourceModel(),
-                                        request,
-                                        progress.getCallbackContext(),
-                                        tagsToAdd,
-                                        logger))
-                .then(
-                        progress -> tagKeysToRemove.isEmpty() ?
-                                progress :
-                                TagHelper.untagResource(
-                                        proxy,
-                                        proxyClient,
-                                        progress.getResourceModel(),
-                                        request,
-                                        progress.getCallbackContext(),
-                                        tagKeysToRemove,
-                                        logger))
-                .then(
-                        progress -> new ReadHandler().handleRequest(
+        final TagDiff tagDiff = TagDiff.of(request);
+        final Map<String, String> tagsToAdd = tagDiff.getTagsToAdd();
+        final Set<String> tagKeysToRemove = tagDiff.getTagKeysToRemove();
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
+                .then(deadline.step(
+                        progress -> TagUpdater.fromSettings(settings).apply(
+                                proxy,
+                                proxyClient,
+                                progress.getResourceModel(),
+                                request,
+                                progress.getCallbackContext(),
+                                tagsToAdd,
+                                tagKeysToRemove,
+                                logger)))
+                .then(deadline.step(progress -> {
+                    final ResourceModel previousModel = request.getPreviousResourceState();
+                    if (settings.isVerifyUpdateWithRead() || previousModel == null) {
+                        return readHandler.handleRequest(
                                 proxy,
                                 request,
                                 callbackContext,
                                 proxyClient,
-                                logger));
+                                deadline,
+                                logger);
+                    }
+                    // tags are the only updatable property, everything else is still what the previous state holds.
+                    // The model carries resource level tags only, so only their changes apply to it; the stack and
+                    // system tag changes sent above are not part of it.
+                    final TagDiff resourceTagDiff = TagDiff.of(
+                            TagDiff.mergeTags(null, null, previousModel.getTags()),
+                            TagDiff.mergeTags(null, null, request.getDesiredResourceState().getTags()));
+                    return ProgressEvent.defaultSuccessHandler(previousModel.toBuilder()
+                            .tags(TagHelper.applyTagChanges(previousModel.getTags(), resourceTagDiff.getTagsToAdd(),
+                                    resourceTagDiff.getTagKeysToRemove()))
+                            .build());
+                }));
+        // throttling and internal errors come back through a callback instead of failing the operation
+        return RetryStrategy.fromSettings(settings).apply(event, request.getDesiredResourceState(), callbackContext, logger);
     }
 }
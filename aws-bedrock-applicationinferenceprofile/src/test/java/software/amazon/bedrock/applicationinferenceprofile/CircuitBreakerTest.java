@@ -0,0 +1,77 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final CircuitBreaker circuit = new CircuitBreaker(Duration.ofSeconds(10), 4, 0.5, Duration.ofSeconds(30));
+
+    @Test
+    public void onFailure_OpensOnceFailureRateReached() {
+        circuit.onSuccess(0);
+        circuit.onSuccess(0);
+        circuit.onFailure(0);
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        circuit.onFailure(SECOND);
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuit.tryAcquire(SECOND)).isEqualTo(30 * SECOND);
+        assertThat(circuit.tryAcquire(11 * SECOND)).isEqualTo(20 * SECOND);
+    }
+
+    @Test
+    public void onFailure_ForgetsFailuresOutsideWindow() {
+        circuit.onFailure(0);
+        circuit.onFailure(0);
+        circuit.onFailure(0);
+
+        circuit.onFailure(20 * SECOND);
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void tryAcquire_HalfOpenLetsOneProbeThrough() {
+        openCircuit();
+
+        assertThat(circuit.tryAcquire(30 * SECOND)).isZero();
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuit.tryAcquire(30 * SECOND)).isPositive();
+
+        circuit.onSuccess(31 * SECOND);
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuit.tryAcquire(31 * SECOND)).isZero();
+    }
+
+    @Test
+    public void onFailure_FailedProbeOpensAgain() {
+        openCircuit();
+
+        assertThat(circuit.tryAcquire(30 * SECOND)).isZero();
+        circuit.onFailure(31 * SECOND);
+
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuit.tryAcquire(31 * SECOND)).isEqualTo(30 * SECOND);
+    }
+
+    @Test
+    public void onSkipped_ReleasesProbe() {
+        openCircuit();
+
+        assertThat(circuit.tryAcquire(30 * SECOND)).isZero();
+        circuit.onSkipped();
+
+        assertThat(circuit.tryAcquire(30 * SECOND)).isZero();
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            circuit.onFailure(0);
+        }
+        assertThat(circuit.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
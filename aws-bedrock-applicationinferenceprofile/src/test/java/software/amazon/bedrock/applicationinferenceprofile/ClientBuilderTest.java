@@ -0,0 +1,45 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientBuilderTest {
+
+    private static final String REGION_PDX = "us-west-2";
+    private static final String REGION_IAD = "us-east-1";
+
+    @AfterEach
+    public void tear_down() {
+        ClientBuilder.clear();
+    }
+
+    @Test
+    public void getClient_SameRegion_ReturnsCachedClient() {
+        final BedrockClient first = ClientBuilder.getClient(REGION_PDX, null);
+        final BedrockClient second = ClientBuilder.getClient(REGION_PDX, null);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void getClient_DifferentRegionOrEndpoint_ReturnsDistinctClients() {
+        final BedrockClient pdx = ClientBuilder.getClient(REGION_PDX, null);
+        final BedrockClient iad = ClientBuilder.getClient(REGION_IAD, null);
+        final BedrockClient pdxWithEndpoint = ClientBuilder.getClient(REGION_PDX, "https://bedrock.us-west-2.amazonaws.com");
+
+        assertThat(iad).isNotSameAs(pdx);
+        assertThat(pdxWithEndpoint).isNotSameAs(pdx);
+    }
+
+    @Test
+    public void clear_RebuildsClient() {
+        final BedrockClient first = ClientBuilder.getClient(REGION_PDX, null);
+
+        ClientBuilder.clear();
+
+        assertThat(ClientBuilder.getClient(REGION_PDX, null)).isNotSameAs(first);
+    }
+}
@@ -1,6 +1,7 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -11,7 +12,10 @@ import software.amazon.awssdk.services.bedrock.model.ConflictException;
 import software.amazon.awssdk.services.bedrock.model.CreateInferenceProfileRequest;
 import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
 import software.amazon.awssdk.services.bedrock.model.InferenceProfileStatus;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
 import software.amazon.awssdk.services.bedrock.model.InternalServerException;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesRequest;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesResponse;
 import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.bedrock.model.ResourceNotFoundException;
@@ -42,6 +46,8 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.CLIENT_REQUEST_TOKEN;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.INFERENCE_PROFILE_ARN;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.INFERENCE_PROFILE_NAME;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.INFERENCE_PROFILE_RESOURCE_MODEL;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.CREATE_INFERENCE_PROFILE_RESPONSE;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.SDK_STACK_TAG_LIST_1;
@@ -78,16 +84,13 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxyClient.client().createInferenceProfile(any(CreateInferenceProfileRequest.class)))
                 .thenReturn(CREATE_INFERENCE_PROFILE_RESPONSE);
         when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
-                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE))
                 .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE));
-        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
-                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
 
         final CreateHandler handler = new CreateHandler();
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .clientRequestToken(CLIENT_REQUEST_TOKEN)
-                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST)
+                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
                 .build();
 
         // Trigger
@@ -106,9 +109,250 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(resourceModel.getInferenceProfileArn()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileArn());
         assertThat(resourceModel.getInferenceProfileIdentifier()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileArn());
         assertThat(resourceModel.getTags().size()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getTags().size());
+        assertThat(resourceModel.getInferenceProfileId()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileId());
+        assertThat(resourceModel.getCreatedAt()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getCreatedAt());
+        assertThat(resourceModel.getModels()).isNotEmpty();
+        assertThat(resourceModel.getModelSource()).isNull();
+
+        verify(bedrockClient).createInferenceProfile(any(CreateInferenceProfileRequest.class));
+        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void handleRequest_WaitsThroughCallbacksUntilActive() {
+        // Set up
+        when(proxyClient.client().createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenReturn(CREATE_INFERENCE_PROFILE_RESPONSE.toBuilder().status((String) null).build());
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.UNKNOWN_TO_SDK_VERSION))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE));
+
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                .build();
+
+        // Trigger: CreateInferenceProfile did not report ACTIVE, wait for the first callback
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isGreaterThan(0);
+        assertThat(response.getCallbackContext().getPendingInferenceProfileArn()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileArn());
+        assertThat(response.getCallbackContext().getStabilizationDeadline()).isGreaterThan(0L);
+
+        // Trigger: first poll still not ACTIVE
+        response = handler.handleRequest(proxy, request, response.getCallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getStabilizationAttempts()).isEqualTo(2);
+
+        // Trigger: second poll reports ACTIVE
+        response = handler.handleRequest(proxy, request, response.getCallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getInferenceProfileId()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileId());
+        assertThat(response.getResourceModel().getStatus()).isEqualTo(InferenceProfileStatus.ACTIVE.toString());
+
+        verify(bedrockClient).createInferenceProfile(any(CreateInferenceProfileRequest.class));
+        verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void handleRequest_VerifyCreateWithRead_Success() {
+        // Set up
+        when(proxyClient.client().createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenReturn(CREATE_INFERENCE_PROFILE_RESPONSE);
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE));
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
+
+        final CreateHandler handler = new CreateHandler(HandlerSettings.builder()
+                .verifyCreateWithRead(true)
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getInferenceProfileArn()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileArn());
+        assertThat(response.getResourceModel().getTags().size()).isEqualTo(SDK_STACK_TAG_LIST_1.size());
 
         verify(bedrockClient).createInferenceProfile(any(CreateInferenceProfileRequest.class));
         verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ConflictAdoptsProfileCreatedForResource() {
+        // Set up: an earlier invocation created the profile but was cut off before recording it
+        ProfileNameIndex.clear();
+        final Map<String, String> systemTags = Map.of(
+                TagHelper.STACK_ID_TAG, "arn:aws:cloudformation:us-west-2:123456789012:stack/stack/1",
+                TagHelper.LOGICAL_ID_TAG, "Profile");
+        when(proxyClient.client().createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenThrow(ConflictException.builder().message("already exists").build());
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(ListInferenceProfilesResponse.builder()
+                        .inferenceProfileSummaries(InferenceProfileSummary.builder()
+                                .inferenceProfileName(INFERENCE_PROFILE_NAME)
+                                .inferenceProfileArn(INFERENCE_PROFILE_ARN)
+                                .build())
+                        .build());
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(TagHelper.convertToList(systemTags)).build());
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE));
+
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                .systemTags(systemTags)
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getInferenceProfileArn()).isEqualTo(INFERENCE_PROFILE_ARN);
+
+        verify(bedrockClient).createInferenceProfile(any(CreateInferenceProfileRequest.class));
+        verify(bedrockClient).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+        // one to compare the profile with the request, one to poll its status
+        verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ConflictWithProfileBeingReplacedFails() {
+        // Set up: a replacement creates the new profile while the old one, with the same system tags, still exists
+        ProfileNameIndex.clear();
+        final Map<String, String> systemTags = Map.of(
+                TagHelper.STACK_ID_TAG, "arn:aws:cloudformation:us-west-2:123456789012:stack/stack/1",
+                TagHelper.LOGICAL_ID_TAG, "Profile");
+        when(proxyClient.client().createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenThrow(ConflictException.builder().message("already exists").build());
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(ListInferenceProfilesResponse.builder()
+                        .inferenceProfileSummaries(InferenceProfileSummary.builder()
+                                .inferenceProfileName(INFERENCE_PROFILE_NAME)
+                                .inferenceProfileArn(INFERENCE_PROFILE_ARN)
+                                .build())
+                        .build());
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(TagHelper.convertToList(systemTags)).build());
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE).toBuilder()
+                        .description("the description before the replacement")
+                        .build());
+
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                .systemTags(systemTags)
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ResourceConflict);
+        assertThat(response.getCallbackContext().getPendingInferenceProfileArn()).isNull();
+
+        verify(bedrockClient).createInferenceProfile(any(CreateInferenceProfileRequest.class));
+        verify(bedrockClient).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ConflictWithProfileOfOtherResourceFails() {
+        // Set up: the name is taken by a profile of another stack
+        ProfileNameIndex.clear();
+        when(proxyClient.client().createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenThrow(ConflictException.builder().message("already exists").build());
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(ListInferenceProfilesResponse.builder()
+                        .inferenceProfileSummaries(InferenceProfileSummary.builder()
+                                .inferenceProfileName(INFERENCE_PROFILE_NAME)
+                                .inferenceProfileArn(INFERENCE_PROFILE_ARN)
+                                .build())
+                        .build());
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(TagHelper.convertToList(Map.of(
+                        TagHelper.STACK_ID_TAG, "arn:aws:cloudformation:us-west-2:123456789012:stack/other/2",
+                        TagHelper.LOGICAL_ID_TAG, "Profile"))).build());
+
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                .systemTags(Map.of(
+                        TagHelper.STACK_ID_TAG, "arn:aws:cloudformation:us-west-2:123456789012:stack/stack/1",
+                        TagHelper.LOGICAL_ID_TAG, "Profile"))
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ResourceConflict);
+        assertThat(response.getCallbackContext().getPendingInferenceProfileArn()).isNull();
+
+        verify(bedrockClient).createInferenceProfile(any(CreateInferenceProfileRequest.class));
+        verify(bedrockClient).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ConflictLookupFailsWithConflict() {
+        // Set up: the role may not list profiles, the create still reports that the name is taken
+        ProfileNameIndex.clear();
+        when(proxyClient.client().createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenThrow(ConflictException.builder().message("already exists").build());
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenThrow(AccessDeniedException.builder().message("not allowed").build());
+
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                .systemTags(Map.of(
+                        TagHelper.STACK_ID_TAG, "arn:aws:cloudformation:us-west-2:123456789012:stack/stack/1",
+                        TagHelper.LOGICAL_ID_TAG, "Profile"))
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ResourceConflict);
+        assertThat(response.getCallbackContext().getPendingInferenceProfileArn()).isNull();
+
+        verify(bedrockClient).createInferenceProfile(any(CreateInferenceProfileRequest.class));
+        verify(bedrockClient).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
     }
 
     @ParameterizedTest
@@ -0,0 +1,97 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineTest {
+    private static final long SECONDS = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void remainingNanos_EndsReserveBeforeTimeout() {
+        final Deadline deadline = new Deadline(0, Duration.ofSeconds(60), Duration.ofSeconds(5));
+
+        assertThat(deadline.remainingNanos(10 * SECONDS)).isEqualTo(45 * SECONDS);
+        assertThat(deadline.isExpired(54 * SECONDS)).isFalse();
+        assertThat(deadline.isExpired(55 * SECONDS)).isTrue();
+        assertThat(deadline.remainingNanos(70 * SECONDS)).isZero();
+    }
+
+    @Test
+    public void within_BroughtForwardToDeadline() {
+        final Deadline deadline = new Deadline(0, Duration.ofSeconds(60), Duration.ofSeconds(5));
+
+        assertThat(deadline.within(0, Duration.ofSeconds(20))).isEqualTo(20 * SECONDS);
+        assertThat(deadline.within(40 * SECONDS, Duration.ofSeconds(20))).isEqualTo(55 * SECONDS);
+    }
+
+    @Test
+    public void withApiCallTimeout_KeepsOverrideConfiguration() {
+        final Deadline deadline = new Deadline(System.nanoTime(), Duration.ofSeconds(60), Duration.ofSeconds(5));
+        final GetInferenceProfileRequest request = GetInferenceProfileRequest.builder()
+                .inferenceProfileIdentifier("profile")
+                .overrideConfiguration(AwsRequestOverrideConfiguration.builder()
+                        .credentialsProvider(AnonymousCredentialsProvider.create())
+                        .build())
+                .build();
+
+        final GetInferenceProfileRequest bounded = deadline.withApiCallTimeout(request);
+
+        assertThat(bounded.inferenceProfileIdentifier()).isEqualTo("profile");
+        assertThat(bounded.overrideConfiguration().get().credentialsProvider()).isPresent();
+        assertThat(bounded.overrideConfiguration().get().apiCallTimeout().get()).isLessThanOrEqualTo(Duration.ofSeconds(55));
+    }
+
+    @Test
+    public void withApiCallTimeout_AtLeastOneSecond() {
+        final Deadline deadline = new Deadline(System.nanoTime(), Duration.ZERO, Duration.ZERO);
+
+        final GetInferenceProfileRequest bounded = deadline.withApiCallTimeout(GetInferenceProfileRequest.builder().build());
+
+        assertThat(bounded.overrideConfiguration().get().apiCallTimeout().get()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void step_YieldsOnceExpired() {
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setPendingInferenceProfileArn("arn");
+        final ProgressEvent<ResourceModel, CallbackContext> progress = ProgressEvent.progress(ResourceModel.builder().build(), callbackContext);
+
+        final ProgressEvent<ResourceModel, CallbackContext> yielded = new Deadline(System.nanoTime(), Duration.ZERO, Duration.ZERO)
+                .step(event -> ProgressEvent.defaultSuccessHandler(null))
+                .apply(progress);
+        final ProgressEvent<ResourceModel, CallbackContext> stepped = new Deadline(System.nanoTime(), Duration.ofSeconds(60), Duration.ofSeconds(5))
+                .step(event -> ProgressEvent.defaultSuccessHandler(null))
+                .apply(progress);
+
+        assertThat(yielded.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(yielded.getCallbackDelaySeconds()).isEqualTo(1);
+        assertThat(yielded.getCallbackContext().getPendingInferenceProfileArn()).isEqualTo("arn");
+        assertThat(stepped.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    @Test
+    public void stepOrFail_FailsOnceExpired() {
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                ProgressEvent.progress(ResourceModel.builder().build(), new CallbackContext());
+
+        final ProgressEvent<ResourceModel, CallbackContext> failed = new Deadline(System.nanoTime(), Duration.ZERO, Duration.ZERO)
+                .stepOrFail(event -> ProgressEvent.defaultSuccessHandler(null))
+                .apply(progress);
+        final ProgressEvent<ResourceModel, CallbackContext> stepped = new Deadline(System.nanoTime(), Duration.ofSeconds(60), Duration.ofSeconds(5))
+                .stepOrFail(event -> ProgressEvent.defaultSuccessHandler(null))
+                .apply(progress);
+
+        assertThat(failed.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failed.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(stepped.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+}
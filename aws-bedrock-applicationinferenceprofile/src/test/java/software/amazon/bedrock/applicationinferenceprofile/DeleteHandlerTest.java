@@ -1,6 +1,7 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -34,6 +35,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -80,7 +82,17 @@ public class DeleteHandlerTest extends AbstractTestBase {
                 .build();
 
         // Trigger
-        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> inProgress = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(inProgress).isNotNull();
+        assertThat(inProgress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(inProgress.getCallbackDelaySeconds()).isGreaterThan(0);
+        assertThat(inProgress.getCallbackContext().getPendingInferenceProfileArn()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileIdentifier());
+        assertThat(inProgress.getCallbackContext().getStabilizationAttempts()).isEqualTo(1);
+
+        // Trigger the callback
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, inProgress.getCallbackContext(), proxyClient, logger);
 
         // Verify
         assertThat(response).isNotNull();
@@ -90,6 +102,36 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+
+        verify(bedrockClient).deleteInferenceProfile(any(DeleteInferenceProfileRequest.class));
+        verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void handleRequest_DeadlinePassed_NotStabilized() {
+        // Set up
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(GetInferenceProfileResponse.builder().status(InferenceProfileStatus.ACTIVE).build());
+
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .build();
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setPendingInferenceProfileArn(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileIdentifier());
+        callbackContext.setStabilizationAttempts(3);
+        callbackContext.setStabilizationDeadline(Instant.now().minusSeconds(1).toEpochMilli());
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+
+        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
     }
 
     @ParameterizedTest
@@ -118,7 +160,8 @@ public class DeleteHandlerTest extends AbstractTestBase {
     public static Stream<Arguments> provideExceptionsAndExpectedResult() {
         return Stream.of(
                 Arguments.of(AccessDeniedException.class, OperationStatus.FAILED, HandlerErrorCode.AccessDenied),
-                Arguments.of(InternalServerException.class, OperationStatus.FAILED, HandlerErrorCode.ServiceInternalError),
+                // retried through a callback by RetryStrategy
+                Arguments.of(InternalServerException.class, OperationStatus.IN_PROGRESS, HandlerErrorCode.ServiceInternalError),
                 Arguments.of(ThrottlingException.class, OperationStatus.IN_PROGRESS, HandlerErrorCode.Throttling),
                 Arguments.of(ValidationException.class, OperationStatus.FAILED, HandlerErrorCode.InvalidRequest),
                 Arguments.of(ResourceNotFoundException.class, OperationStatus.FAILED, HandlerErrorCode.NotFound),
@@ -0,0 +1,206 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
+import software.amazon.awssdk.services.bedrock.model.InternalServerException;
+import software.amazon.awssdk.services.bedrock.model.ThrottlingException;
+import software.amazon.awssdk.services.bedrock.model.ValidationException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class GuardedProxyClientTest extends AbstractTestBase {
+    private BedrockClient bedrockClient;
+    private AmazonWebServicesClientProxy proxy;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        bedrockClient = mock(BedrockClient.class);
+    }
+
+    @Test
+    public void apiName_StripsRequestSuffix() {
+        assertThat(GuardedProxyClient.apiName(GetInferenceProfileRequest.builder().build())).isEqualTo("GetInferenceProfile");
+    }
+
+    @Test
+    public void rateLimit_OnlyForConfiguredApis() {
+        final GuardedProxyClient unlimited = guarded("111111111111", HandlerSettings.DEFAULT);
+        final HandlerSettings limitedSettings = HandlerSettings.DEFAULT.toBuilder()
+                .apiRateLimits(Collections.singletonMap("GetInferenceProfile", 5.0))
+                .build();
+        final GuardedProxyClient limited = guarded("111111111111", limitedSettings);
+        final GuardedProxyClient limitedByDefault = guarded("111111111111", HandlerSettings.DEFAULT.toBuilder()
+                .apiRateLimits(Collections.singletonMap("*", 5.0))
+                .build());
+
+        assertThat(unlimited.rateLimit("GetInferenceProfile")).isNull();
+        assertThat(limited.rateLimit("GetInferenceProfile")).isNotNull();
+        assertThat(limited.rateLimit("TagResource")).isNull();
+        assertThat(limitedByDefault.rateLimit("TagResource")).isNotNull();
+        assertThat(limited.rateLimit("GetInferenceProfile")).isSameAs(limitedByDefault.rateLimit("GetInferenceProfile"));
+        assertThat(limited.rateLimit("GetInferenceProfile"))
+                .isNotSameAs(guarded("222222222222", limitedSettings).rateLimit("GetInferenceProfile"));
+    }
+
+    @Test
+    public void unguardedCalls_Throw() {
+        final GuardedProxyClient guarded = guarded("555555555555", HandlerSettings.DEFAULT);
+        final GetInferenceProfileRequest request = GetInferenceProfileRequest.builder().inferenceProfileIdentifier("profile").build();
+
+        assertThatThrownBy(() -> guarded.<GetInferenceProfileRequest, GetInferenceProfileResponse>injectCredentialsAndInvokeV2Async(
+                request, sent -> CompletableFuture.completedFuture(GetInferenceProfileResponse.builder().build())))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> guarded.<GetInferenceProfileRequest, GetInferenceProfileResponse>injectCredentialsAndInvokeV2Bytes(
+                request, sent -> null))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        verifyNoInteractions(bedrockClient);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_ThrottledCallSlowsRateLimit() {
+        final GetInferenceProfileResponse getInferenceProfileResponse = GetInferenceProfileResponse.builder().build();
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenThrow(ThrottlingException.builder().message("slow down").build())
+                .thenReturn(getInferenceProfileResponse);
+        final GuardedProxyClient guarded = guarded("333333333333", HandlerSettings.DEFAULT.toBuilder()
+                .apiRateLimits(Collections.singletonMap("GetInferenceProfile", 100.0))
+                .build());
+        final GetInferenceProfileRequest request = GetInferenceProfileRequest.builder().inferenceProfileIdentifier("profile").build();
+
+        assertThatThrownBy(() -> guarded.injectCredentialsAndInvokeV2(request, guarded.client()::getInferenceProfile))
+                .isInstanceOf(ThrottlingException.class);
+        assertThat(guarded.rateLimit("GetInferenceProfile").getRate()).isEqualTo(50.0);
+
+        assertThat(guarded.injectCredentialsAndInvokeV2(request, guarded.client()::getInferenceProfile))
+                .isSameAs(getInferenceProfileResponse);
+        assertThat(guarded.rateLimit("GetInferenceProfile").getRate()).isEqualTo(55.0);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_RateLimitWaitPastDeadlineFailsFast() {
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(GetInferenceProfileResponse.builder().build());
+        final HandlerSettings settings = HandlerSettings.DEFAULT.toBuilder()
+                .apiRateLimits(Collections.singletonMap("GetInferenceProfile", 0.2))
+                .rateLimitMaxWait(Duration.ofSeconds(10))
+                .build();
+        // two seconds left, after the stored permit and the free slot the next one only comes up after five
+        final GuardedProxyClient guarded = new GuardedProxyClient(MOCK_PROXY(proxy, bedrockClient), "666666666666", "us-west-2",
+                settings, new Deadline(System.nanoTime(), Duration.ofSeconds(7), Duration.ofSeconds(5)));
+        final GetInferenceProfileRequest request = GetInferenceProfileRequest.builder().inferenceProfileIdentifier("profile").build();
+
+        guarded.injectCredentialsAndInvokeV2(request, guarded.client()::getInferenceProfile);
+        guarded.injectCredentialsAndInvokeV2(request, guarded.client()::getInferenceProfile);
+        final long start = System.nanoTime();
+        assertThatThrownBy(() -> guarded.injectCredentialsAndInvokeV2(request, guarded.client()::getInferenceProfile))
+                .isInstanceOf(ThrottlingException.class)
+                .hasMessageContaining("deadline");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_OpenCircuitFailsFast() {
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenThrow(InternalServerException.builder().message("internal").statusCode(500).build());
+        final GuardedProxyClient guarded = new GuardedProxyClient(MOCK_PROXY(proxy, bedrockClient), "444444444444", "eu-west-1",
+                HandlerSettings.DEFAULT.toBuilder()
+                        .circuitBreakerMinimumCalls(2)
+                        .build(),
+                Deadline.fromSettings(HandlerSettings.DEFAULT));
+        final GetInferenceProfileRequest request = GetInferenceProfileRequest.builder().inferenceProfileIdentifier("profile").build();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guarded.injectCredentialsAndInvokeV2(request, guarded.client()::getInferenceProfile))
+                    .isInstanceOf(InternalServerException.class);
+        }
+        assertThatThrownBy(() -> guarded.injectCredentialsAndInvokeV2(request, guarded.client()::getInferenceProfile))
+                .isInstanceOf(CircuitOpenException.class);
+
+        verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        final ProgressEvent<ResourceModel, CallbackContext> event = BaseHandlerStd.handleError(request,
+                new CircuitOpenException("GetInferenceProfile", Duration.ofSeconds(12)), guarded, null, new CallbackContext());
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(event.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(12);
+    }
+
+    @Test
+    public void isServiceFailure_OnlyTransportErrorsAnd5xx() {
+        assertThat(GuardedProxyClient.isServiceFailure(SdkClientException.create("Connection reset"), false)).isTrue();
+        assertThat(GuardedProxyClient.isServiceFailure(
+                InternalServerException.builder().message("internal").statusCode(500).build(), false)).isTrue();
+        assertThat(GuardedProxyClient.isServiceFailure(ApiCallTimeoutException.create(1000), false)).isTrue();
+
+        assertThat(GuardedProxyClient.isServiceFailure(
+                ValidationException.builder().message("invalid").statusCode(400).build(), false)).isFalse();
+        assertThat(GuardedProxyClient.isServiceFailure(ApiCallTimeoutException.create(1000), true)).isFalse();
+        assertThat(GuardedProxyClient.isServiceFailure(AbortedException.create("Thread was interrupted"), false)).isFalse();
+        assertThat(GuardedProxyClient.isServiceFailure(
+                SdkClientException.create("Interrupted", new InterruptedException()), false)).isFalse();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_TimeoutAtDeadlineKeepsCircuitClosed() {
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenThrow(ApiCallTimeoutException.create(1000));
+        // the deadline has already passed, every call is cut off by it
+        final GuardedProxyClient guarded = new GuardedProxyClient(MOCK_PROXY(proxy, bedrockClient), "777777777777", "ap-south-1",
+                HandlerSettings.DEFAULT.toBuilder()
+                        .circuitBreakerMinimumCalls(2)
+                        .build(),
+                new Deadline(System.nanoTime(), Duration.ofSeconds(5), Duration.ofSeconds(5)));
+        final GetInferenceProfileRequest request = GetInferenceProfileRequest.builder().inferenceProfileIdentifier("profile").build();
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> guarded.injectCredentialsAndInvokeV2(request, guarded.client()::getInferenceProfile))
+                    .isInstanceOf(ApiCallTimeoutException.class);
+        }
+
+        verify(bedrockClient, times(3)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_SetsApiCallTimeoutFromDeadline() {
+        final ArgumentCaptor<GetInferenceProfileRequest> sent = ArgumentCaptor.forClass(GetInferenceProfileRequest.class);
+        when(bedrockClient.getInferenceProfile(sent.capture())).thenReturn(GetInferenceProfileResponse.builder().build());
+        final GuardedProxyClient guarded = new GuardedProxyClient(MOCK_PROXY(proxy, bedrockClient), "555555555555", "us-west-2",
+                HandlerSettings.DEFAULT, new Deadline(System.nanoTime(), Duration.ofSeconds(30), Duration.ofSeconds(5)));
+
+        guarded.injectCredentialsAndInvokeV2(GetInferenceProfileRequest.builder().inferenceProfileIdentifier("profile").build(),
+                guarded.client()::getInferenceProfile);
+
+        final Duration apiCallTimeout = sent.getValue().overrideConfiguration().get().apiCallTimeout().get();
+        assertThat(apiCallTimeout).isLessThanOrEqualTo(Duration.ofSeconds(25));
+        assertThat(apiCallTimeout).isGreaterThan(Duration.ofSeconds(20));
+    }
+
+    private GuardedProxyClient guarded(final String awsAccountId, final HandlerSettings settings) {
+        return new GuardedProxyClient(MOCK_PROXY(proxy, bedrockClient), awsAccountId, "us-west-2", settings,
+                Deadline.fromSettings(settings));
+    }
+}
@@ -0,0 +1,130 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.CreateInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileStatus;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.INFERENCE_PROFILE_RESOURCE_MODEL;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.APPLICATION_INFERENCE_PROFILE_ARN;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.CLIENT_REQUEST_TOKEN;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.CREATE_INFERENCE_PROFILE_RESPONSE;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.SDK_STACK_TAG_LIST_1;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.constructGetInferenceProfileResponse;
+
+public class HandlerConcurrencyTest extends AbstractTestBase {
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 400;
+
+    @Test
+    public void handleRequest_SharedHandlersServeConcurrentRequests() throws Exception {
+        // Set up
+        final AmazonWebServicesClientProxy proxy =
+                new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        final BedrockClient bedrockClient = mock(BedrockClient.class);
+        final ProxyClient<BedrockClient> proxyClient = MOCK_PROXY(proxy, bedrockClient);
+        when(bedrockClient.createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenReturn(CREATE_INFERENCE_PROFILE_RESPONSE);
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE));
+        when(bedrockClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
+
+        final CreateHandler createHandler = new CreateHandler(HandlerSettings.DEFAULT.toBuilder()
+                .verifyCreateWithRead(true)
+                .build());
+        final ReadHandler readHandler = new ReadHandler();
+        final int createLines = create(createHandler, proxy, proxyClient, accountId(-1)).size();
+        final int readLines = read(readHandler, proxy, proxyClient, accountId(-2)).size();
+
+        // Trigger: every request gets its own logger, all of them run against the same two handler instances
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<List<String>>> futures = new ArrayList<>(REQUESTS);
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                final String accountId = accountId(i);
+                final boolean isCreate = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return isCreate ?
+                            create(createHandler, proxy, proxyClient, accountId) :
+                            read(readHandler, proxy, proxyClient, accountId);
+                }));
+            }
+            start.countDown();
+
+            // Verify: a logger shared between requests would miss lines in one request and repeat them in another
+            for (int i = 0; i < REQUESTS; i++) {
+                final List<String> lines = futures.get(i).get(60, TimeUnit.SECONDS);
+                assertThat(lines).hasSize(i % 2 == 0 ? createLines : readLines);
+                assertThat(lines.get(0)).contains("AccountId " + accountId(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String> create(final CreateHandler handler,
+                                       final AmazonWebServicesClientProxy proxy,
+                                       final ProxyClient<BedrockClient> proxyClient,
+                                       final String accountId) {
+        final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(accountId)
+                .clientRequestToken(CLIENT_REQUEST_TOKEN + accountId)
+                .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, lines::add);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getInferenceProfileArn()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL.getInferenceProfileArn());
+        return lines;
+    }
+
+    private static List<String> read(final ReadHandler handler,
+                                     final AmazonWebServicesClientProxy proxy,
+                                     final ProxyClient<BedrockClient> proxyClient,
+                                     final String accountId) {
+        final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(accountId)
+                .desiredResourceState(ResourceModel.builder().inferenceProfileIdentifier(APPLICATION_INFERENCE_PROFILE_ARN).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, lines::add);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        return lines;
+    }
+
+    private static String accountId(final int index) {
+        // fixed width, so no account id is a prefix of another
+        return String.format("%012d", index + 2);
+    }
+}
@@ -0,0 +1,166 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.json.JSONArray;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.ConflictException;
+import software.amazon.awssdk.services.bedrock.model.CreateInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.DeleteInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.DeleteInferenceProfileResponse;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileStatus;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesRequest;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesResponse;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.bedrock.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.INFERENCE_PROFILE_RESOURCE_MODEL;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.CLIENT_REQUEST_TOKEN;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.INFERENCE_PROFILE_ARN;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.INFERENCE_PROFILE_NAME;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.CREATE_INFERENCE_PROFILE_RESPONSE;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.constructGetInferenceProfileResponse;
+
+/**
+ * Runs handler paths against a mocked client and checks that every Bedrock API they called is among the permissions
+ * the schema grants the handler.
+ */
+public class HandlerPermissionsTest extends AbstractTestBase {
+    // every pending profile is polled through the ListInferenceProfiles sweep
+    private static final HandlerSettings BATCHED_POLLS = HandlerSettings.DEFAULT.toBuilder()
+            .statusPollBatchThreshold(1)
+            .build();
+
+    private AmazonWebServicesClientProxy proxy;
+    private BedrockClient bedrockClient;
+    private ProxyClient<BedrockClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        bedrockClient = mock(BedrockClient.class);
+        proxyClient = MOCK_PROXY(proxy, bedrockClient);
+    }
+
+    @Test
+    public void create_BatchedPoll_Permitted() {
+        when(bedrockClient.createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenReturn(CREATE_INFERENCE_PROFILE_RESPONSE);
+        when(bedrockClient.listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(ListInferenceProfilesResponse.builder()
+                        .inferenceProfileSummaries(InferenceProfileSummary.builder()
+                                .inferenceProfileArn(INFERENCE_PROFILE_ARN)
+                                .status(InferenceProfileStatus.ACTIVE)
+                                .build())
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new CreateHandler(BATCHED_POLLS).handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                        .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                        .build(),
+                new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(calledApis()).contains("bedrock:ListInferenceProfiles");
+        assertThat(permissions("create")).containsAll(calledApis());
+    }
+
+    @Test
+    public void create_ConflictLookup_Permitted() {
+        ProfileNameIndex.clear();
+        final Map<String, String> systemTags = Map.of(
+                TagHelper.STACK_ID_TAG, "arn:aws:cloudformation:us-west-2:123456789012:stack/stack/1",
+                TagHelper.LOGICAL_ID_TAG, "Profile");
+        when(bedrockClient.createInferenceProfile(any(CreateInferenceProfileRequest.class)))
+                .thenThrow(ConflictException.builder().message("already exists").build());
+        when(bedrockClient.listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(ListInferenceProfilesResponse.builder()
+                        .inferenceProfileSummaries(InferenceProfileSummary.builder()
+                                .inferenceProfileName(INFERENCE_PROFILE_NAME)
+                                .inferenceProfileArn(INFERENCE_PROFILE_ARN)
+                                .build())
+                        .build());
+        when(bedrockClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(TagHelper.convertToList(systemTags)).build());
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new CreateHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .clientRequestToken(CLIENT_REQUEST_TOKEN)
+                        .desiredResourceState(CFN_RESOURCE_MODEL_FOR_CREATE_REQUEST.toBuilder().build())
+                        .systemTags(systemTags)
+                        .build(),
+                new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(calledApis()).contains("bedrock:ListInferenceProfiles");
+        assertThat(permissions("create")).containsAll(calledApis());
+    }
+
+    @Test
+    public void delete_BatchedPoll_Permitted() {
+        when(bedrockClient.deleteInferenceProfile(any(DeleteInferenceProfileRequest.class)))
+                .thenReturn(DeleteInferenceProfileResponse.builder().build());
+        when(bedrockClient.listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(ListInferenceProfilesResponse.builder().build());
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenThrow(ResourceNotFoundException.builder().message("gone").build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new DeleteHandler(BATCHED_POLLS).handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL.toBuilder().build())
+                        .build(),
+                new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(calledApis()).contains("bedrock:ListInferenceProfiles");
+        assertThat(permissions("delete")).containsAll(calledApis());
+    }
+
+    /**
+     * The Bedrock APIs called on the mocked client, named as IAM actions.
+     */
+    private Set<String> calledApis() {
+        final Set<String> apis = new TreeSet<>();
+        for (final Invocation invocation : mockingDetails(bedrockClient).getInvocations()) {
+            final String method = invocation.getMethod().getName();
+            if (!"serviceName".equals(method) && !"close".equals(method)) {
+                apis.add("bedrock:" + Character.toUpperCase(method.charAt(0)) + method.substring(1));
+            }
+        }
+        return apis;
+    }
+
+    private static Set<String> permissions(final String handler) {
+        final JSONArray permissions = new Configuration().resourceSchemaJsonObject()
+                .getJSONObject("handlers")
+                .getJSONObject(handler)
+                .getJSONArray("permissions");
+        final Set<String> result = new TreeSet<>();
+        for (int i = 0; i < permissions.length(); i++) {
+            result.add(permissions.getString(i));
+        }
+        return result;
+    }
+}
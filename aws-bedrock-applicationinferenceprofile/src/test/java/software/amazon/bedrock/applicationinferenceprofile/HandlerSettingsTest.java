@@ -0,0 +1,86 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HandlerSettingsTest {
+
+    @Test
+    public void fromEnvironment_NothingSet_Defaults() {
+        assertThat(HandlerSettings.fromEnvironment(Collections.emptyMap())).isEqualTo(HandlerSettings.DEFAULT);
+    }
+
+    @Test
+    public void fromEnvironment_ListProjection() {
+        final HandlerSettings settings = HandlerSettings.fromEnvironment(Map.of(HandlerSettings.LIST_PROJECTION, "InferenceProfileName,Status"));
+
+        assertThat(settings.getListProjection()).isEqualTo(ListProjection.of("InferenceProfileName", "Status"));
+        assertThat(settings.toBuilder().listProjection(ListProjection.ALL).build()).isEqualTo(HandlerSettings.DEFAULT);
+    }
+
+    @Test
+    public void fromEnvironment_ListSnapshotTtl() {
+        assertThat(HandlerSettings.fromEnvironment(Map.of(HandlerSettings.LIST_SNAPSHOT_TTL_SECONDS, "300")).getListSnapshotTtl())
+                .isEqualTo(Duration.ofSeconds(300));
+        assertThat(HandlerSettings.fromEnvironment(Map.of(HandlerSettings.LIST_SNAPSHOT_TTL_SECONDS, "0")).getListSnapshotTtl())
+                .isNull();
+    }
+
+    @Test
+    public void fromEnvironment_ReadCacheTtl() {
+        assertThat(HandlerSettings.fromEnvironment(Map.of(HandlerSettings.READ_CACHE_TTL_SECONDS, "30")).getReadCacheTtl())
+                .isEqualTo(Duration.ofSeconds(30));
+        assertThat(HandlerSettings.fromEnvironment(Map.of(HandlerSettings.READ_CACHE_TTL_SECONDS, "0")).getReadCacheTtl())
+                .isNull();
+    }
+
+    @Test
+    public void fromEnvironment_ApiRateLimits() {
+        assertThat(HandlerSettings.fromEnvironment(Map.of(HandlerSettings.API_RATE_LIMITS, "GetInferenceProfile=10, *=2.5")).getApiRateLimits())
+                .containsExactly(Map.entry("GetInferenceProfile", 10.0), Map.entry("*", 2.5));
+    }
+
+    @Test
+    public void fromEnvironment_InvocationTimeout() {
+        assertThat(HandlerSettings.fromEnvironment(Map.of(HandlerSettings.INVOCATION_TIMEOUT_SECONDS, "180")).getInvocationTimeout())
+                .isEqualTo(Duration.ofSeconds(180));
+    }
+
+    @Test
+    public void fromEnvironment_Flags() {
+        final HandlerSettings settings = HandlerSettings.fromEnvironment(Map.of(
+                HandlerSettings.HEDGE_READS, "true",
+                HandlerSettings.VERIFY_CREATE_WITH_READ, "TRUE",
+                HandlerSettings.VERIFY_UPDATE_WITH_READ, "false"));
+
+        assertThat(settings.isHedgeReads()).isTrue();
+        assertThat(settings.isVerifyCreateWithRead()).isTrue();
+        assertThat(settings.isVerifyUpdateWithRead()).isFalse();
+        assertThat(settings.toBuilder().hedgeReads(false).verifyCreateWithRead(false).build()).isEqualTo(HandlerSettings.DEFAULT);
+    }
+
+    @Test
+    public void fromEnvironment_MalformedValue_Throws() {
+        assertThatThrownBy(() -> HandlerSettings.fromEnvironment(Map.of(HandlerSettings.LIST_PROJECTION, "Tags")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandlerSettings.fromEnvironment(Map.of(HandlerSettings.LIST_SNAPSHOT_TTL_SECONDS, "-5")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandlerSettings.fromEnvironment(Map.of(HandlerSettings.READ_CACHE_TTL_SECONDS, "soon")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandlerSettings.fromEnvironment(Map.of(HandlerSettings.READ_CACHE_TTL_SECONDS, "-1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandlerSettings.fromEnvironment(Map.of(HandlerSettings.API_RATE_LIMITS, "GetInferenceProfile")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandlerSettings.fromEnvironment(Map.of(HandlerSettings.API_RATE_LIMITS, "*=0")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandlerSettings.fromEnvironment(Map.of(HandlerSettings.INVOCATION_TIMEOUT_SECONDS, "5")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HandlerSettings.fromEnvironment(Map.of(HandlerSettings.HEDGE_READS, "yes")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
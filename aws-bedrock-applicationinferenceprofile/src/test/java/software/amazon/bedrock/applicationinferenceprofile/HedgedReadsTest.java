@@ -0,0 +1,147 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.bedrock.model.InternalServerException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HedgedReadsTest {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void hedgeDelayNanos_NeedsLatencyProfile() {
+        final HedgedReads hedgedReads = new HedgedReads(1.0, Duration.ofMillis(5));
+        for (int i = 0; i < 19; i++) {
+            hedgedReads.recordLatency(100 * MILLIS);
+        }
+        assertThat(hedgedReads.hedgeDelayNanos(0)).isEqualTo(-1);
+
+        hedgedReads.recordLatency(MILLIS);
+        assertThat(hedgedReads.hedgeDelayNanos(0)).isEqualTo(100 * MILLIS);
+    }
+
+    @Test
+    public void hedgeDelayNanos_AtLeastMinDelay() {
+        final HedgedReads hedgedReads = withLatencies(1.0, Duration.ofMillis(50), MILLIS);
+
+        assertThat(hedgedReads.hedgeDelayNanos(0)).isEqualTo(50 * MILLIS);
+    }
+
+    @Test
+    public void hedgeDelayNanos_PausedAfterThrottling() {
+        final HedgedReads hedgedReads = withLatencies(1.0, Duration.ofMillis(5), MILLIS);
+
+        hedgedReads.onThrottled(0);
+
+        assertThat(hedgedReads.hedgeDelayNanos(TimeUnit.SECONDS.toNanos(29))).isEqualTo(-1);
+        assertThat(hedgedReads.hedgeDelayNanos(TimeUnit.SECONDS.toNanos(31))).isEqualTo(5 * MILLIS);
+    }
+
+    @Test
+    public void tryHedge_CappedToShareOfCalls() {
+        final HedgedReads hedgedReads = new HedgedReads(0.1, Duration.ofMillis(5));
+        for (int i = 0; i < 19; i++) {
+            hedgedReads.hedgeDelayNanos(0);
+        }
+        assertThat(hedgedReads.tryHedge()).isTrue();
+        assertThat(hedgedReads.tryHedge()).isFalse();
+
+        hedgedReads.hedgeDelayNanos(0);
+        assertThat(hedgedReads.tryHedge()).isTrue();
+    }
+
+    @Test
+    public void call_SlowAttemptIsHedged() {
+        final HedgedReads hedgedReads = withLatencies(1.0, Duration.ofMillis(5), MILLIS);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final String result = hedgedReads.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(release);
+                return "slow";
+            }
+            return "hedge";
+        });
+        release.countDown();
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void call_LosingAttemptIsInterrupted() throws Exception {
+        final HedgedReads hedgedReads = withLatencies(1.0, Duration.ofMillis(5), MILLIS);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+        final CountDownLatch loserInterrupted = new CountDownLatch(1);
+
+        final String result = hedgedReads.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    neverReleased.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    loserInterrupted.countDown();
+                }
+                return "slow";
+            }
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(loserInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void call_BothAttemptsFail_Throws() {
+        final HedgedReads hedgedReads = withLatencies(1.0, Duration.ofMillis(5), MILLIS);
+        final InternalServerException first = InternalServerException.builder().message("first").build();
+        final InternalServerException second = InternalServerException.builder().message("second").build();
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch hedged = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> hedgedReads.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(hedged);
+                throw first;
+            }
+            hedged.countDown();
+            throw second;
+        })).isInstanceOf(InternalServerException.class);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void call_FastFailureIsNotHedged() {
+        final HedgedReads hedgedReads = withLatencies(1.0, Duration.ofSeconds(10), MILLIS);
+        final InternalServerException internal = InternalServerException.builder().message("internal").build();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> hedgedReads.call(() -> {
+            attempts.incrementAndGet();
+            throw internal;
+        })).isSameAs(internal);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    private static HedgedReads withLatencies(final double hedgeRateCap, final Duration minDelay, final long latencyNanos) {
+        final HedgedReads hedgedReads = new HedgedReads(hedgeRateCap, minDelay);
+        for (int i = 0; i < 20; i++) {
+            hedgedReads.recordLatency(latencyNanos);
+        }
+        return hedgedReads;
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileStatus;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListFilterTest {
+
+    private static final InferenceProfileSummary SUMMARY = InferenceProfileSummary.builder()
+            .inferenceProfileName("team-a-profile")
+            .status(InferenceProfileStatus.ACTIVE)
+            .models(software.amazon.awssdk.services.bedrock.model.InferenceProfileModel.builder().modelArn("model-1").build())
+            .build();
+
+    @Test
+    public void fromModel_NoFilters_MatchesEverything() {
+        final ListFilter filter = ListFilter.fromModel(ResourceModel.builder().build());
+
+        assertThat(filter.matches(SUMMARY)).isTrue();
+        assertThat(filter.matches(InferenceProfileSummary.builder().build())).isTrue();
+        assertThat(filter.matchesTags(null)).isTrue();
+        assertThat(filter.isListTags()).isFalse();
+    }
+
+    @Test
+    public void matches_NamePrefixAndStatus() {
+        assertThat(ListFilter.fromModel(ResourceModel.builder().inferenceProfileName("team-a").build()).matches(SUMMARY)).isTrue();
+        assertThat(ListFilter.fromModel(ResourceModel.builder().inferenceProfileName("team-b").build()).matches(SUMMARY)).isFalse();
+        assertThat(ListFilter.fromModel(ResourceModel.builder().status("ACTIVE").build()).matches(SUMMARY)).isTrue();
+        assertThat(ListFilter.fromModel(ResourceModel.builder().status("CREATING").build()).matches(SUMMARY)).isFalse();
+    }
+
+    @Test
+    public void matches_AnyOfModelArns() {
+        final ListFilter filter = ListFilter.fromModel(ResourceModel.builder()
+                .models(List.of(
+                        InferenceProfileModel.builder().modelArn("model-2").build(),
+                        InferenceProfileModel.builder().modelArn("model-1").build()))
+                .build());
+
+        assertThat(filter.matches(SUMMARY)).isTrue();
+        assertThat(filter.matches(SUMMARY.toBuilder().models(Collections.emptyList()).build())).isFalse();
+    }
+
+    @Test
+    public void matchesTags_EveryGivenPair() {
+        final ListFilter filter = ListFilter.fromModel(ResourceModel.builder()
+                .tags(List.of(Tag.builder().key("team").value("a").build()))
+                .build());
+        final Tag teamA = Tag.builder().key("team").value("a").build();
+        final Tag teamB = Tag.builder().key("team").value("b").build();
+        final Tag stage = Tag.builder().key("stage").value("prod").build();
+
+        assertThat(filter.isListTags()).isTrue();
+        assertThat(filter.matchesTags(List.of(stage, teamA))).isTrue();
+        assertThat(filter.matchesTags(List.of(stage, teamB))).isFalse();
+        assertThat(filter.matchesTags(null)).isFalse();
+    }
+
+    @Test
+    public void fromModel_EmptyTags_OnlyListsTags() {
+        final ListFilter filter = ListFilter.fromModel(ResourceModel.builder().tags(Collections.emptyList()).build());
+
+        assertThat(filter.isListTags()).isTrue();
+        assertThat(filter.matchesTags(Collections.emptyList())).isTrue();
+    }
+}
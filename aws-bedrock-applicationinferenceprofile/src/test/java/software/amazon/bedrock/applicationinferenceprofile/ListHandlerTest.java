@@ -1,6 +1,7 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -11,6 +12,8 @@ import software.amazon.awssdk.services.bedrock.model.AccessDeniedException;
 import software.amazon.awssdk.services.bedrock.model.InferenceProfileType;
 import software.amazon.awssdk.services.bedrock.model.InternalServerException;
 import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesRequest;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.bedrock.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.bedrock.model.ThrottlingException;
 import software.amazon.awssdk.services.bedrock.model.ValidationException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -22,6 +25,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -29,11 +33,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.CFN_TAG_LIST_1;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.FOUNDATION_MODEL_ARN_IAD;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.LIST_APPLICATION_INFERENCE_PROFILES_RESPONSE;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.LIST_INFERENCE_PROFILES_RESPONSE;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.SDK_STACK_TAG_LIST_1;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest extends AbstractTestBase {
@@ -122,6 +130,226 @@ public class ListHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels().get(0).getType()).isEqualTo(InferenceProfileType.APPLICATION.toString());
     }
 
+    @Test
+    public void handleRequest_FollowsNextTokenUpToMaxResults() {
+        // Set up
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(LIST_APPLICATION_INFERENCE_PROFILES_RESPONSE.toBuilder().nextToken("page-2").build())
+                .thenReturn(LIST_INFERENCE_PROFILES_RESPONSE.toBuilder().nextToken("page-3").build());
+
+        final ListHandler handler = new ListHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .maxResults(3)
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).hasSize(3);
+        assertThat(response.getNextToken()).isEqualTo("page-3");
+
+        final ArgumentCaptor<ListInferenceProfilesRequest> listCaptor = ArgumentCaptor.forClass(ListInferenceProfilesRequest.class);
+        verify(bedrockClient, times(2)).listInferenceProfiles(listCaptor.capture());
+        assertThat(listCaptor.getAllValues().get(0).maxResults()).isEqualTo(3);
+        assertThat(listCaptor.getAllValues().get(1).nextToken()).isEqualTo("page-2");
+        assertThat(listCaptor.getAllValues().get(1).maxResults()).isEqualTo(2);
+    }
+
+    @Test
+    public void handleRequest_LaterPageFails_ReturnsPartialResults() {
+        // Set up
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(LIST_APPLICATION_INFERENCE_PROFILES_RESPONSE.toBuilder().nextToken("page-2").build())
+                .thenThrow(InternalServerException.class);
+
+        final ListHandler handler = new ListHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).hasSize(1);
+        assertThat(response.getNextToken()).isEqualTo("page-2");
+
+        verify(bedrockClient, times(2)).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+    }
+
+    @Test
+    public void handleRequest_WithTags_ListsTagsOfEveryProfile() {
+        // Set up
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(LIST_INFERENCE_PROFILES_RESPONSE);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
+
+        final ListHandler handler = new ListHandler(HandlerSettings.DEFAULT.toBuilder()
+                .listTagsConcurrency(1)
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().tags(Collections.emptyList()).build())
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).hasSize(2);
+        assertThat(response.getResourceModels()).allSatisfy(resourceModel ->
+                assertThat(resourceModel.getTags()).isEqualTo(CFN_TAG_LIST_1));
+
+        verify(bedrockClient).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+        verify(bedrockClient, times(2)).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_WithTags_ListTagsDenied() {
+        // Set up
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(LIST_APPLICATION_INFERENCE_PROFILES_RESPONSE);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenThrow(AccessDeniedException.class);
+
+        final ListHandler handler = new ListHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().tags(Collections.emptyList()).build())
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+
+        verify(bedrockClient).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ModelFilter_CountsMatchesOnly() {
+        // Set up
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(LIST_INFERENCE_PROFILES_RESPONSE.toBuilder().nextToken("page-2").build())
+                .thenReturn(LIST_APPLICATION_INFERENCE_PROFILES_RESPONSE);
+
+        final ListHandler handler = new ListHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .models(Collections.singletonList(InferenceProfileModel.builder().modelArn(FOUNDATION_MODEL_ARN_IAD).build()))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .maxResults(2)
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).hasSize(2);
+        assertThat(response.getResourceModels()).allSatisfy(resourceModel ->
+                assertThat(resourceModel.getModels()).extracting(InferenceProfileModel::getModelArn).contains(FOUNDATION_MODEL_ARN_IAD));
+        assertThat(response.getNextToken()).isNull();
+
+        final ArgumentCaptor<ListInferenceProfilesRequest> listCaptor = ArgumentCaptor.forClass(ListInferenceProfilesRequest.class);
+        verify(bedrockClient, times(2)).listInferenceProfiles(listCaptor.capture());
+        assertThat(listCaptor.getAllValues().get(1).maxResults()).isEqualTo(1);
+    }
+
+    @Test
+    public void handleRequest_Snapshot_ServesLaterPagesFromCursor() {
+        // Set up
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(LIST_INFERENCE_PROFILES_RESPONSE.toBuilder().nextToken("page-2").build())
+                .thenReturn(LIST_APPLICATION_INFERENCE_PROFILES_RESPONSE);
+
+        final ListHandler handler = new ListHandler(HandlerSettings.DEFAULT.toBuilder()
+                .listSnapshotTtl(Duration.ofMinutes(5))
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .maxResults(2)
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> secondResponse =
+                handler.handleRequest(proxy, request.toBuilder().nextToken(firstResponse.getNextToken()).build(),
+                        new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(firstResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(firstResponse.getResourceModels()).hasSize(2);
+        assertThat(firstResponse.getNextToken()).isNotNull();
+        assertThat(secondResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(secondResponse.getResourceModels()).hasSize(1);
+        assertThat(secondResponse.getNextToken()).isNull();
+
+        final ArgumentCaptor<ListInferenceProfilesRequest> listCaptor = ArgumentCaptor.forClass(ListInferenceProfilesRequest.class);
+        verify(bedrockClient, times(2)).listInferenceProfiles(listCaptor.capture());
+        assertThat(listCaptor.getAllValues().get(0).maxResults()).isEqualTo(1000);
+        assertThat(listCaptor.getAllValues().get(1).nextToken()).isEqualTo("page-2");
+    }
+
+    @Test
+    public void handleRequest_Snapshot_MissContinuesLive() {
+        // Set up
+        when(proxyClient.client().listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(LIST_INFERENCE_PROFILES_RESPONSE);
+
+        final ListHandler handler = new ListHandler(HandlerSettings.DEFAULT.toBuilder()
+                .listSnapshotTtl(Duration.ofMinutes(5))
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken(new ListSnapshot.Cursor("expired-snapshot", 3, "page-2", 1).encode())
+                .maxResults(2)
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).hasSize(1);
+        assertThat(response.getResourceModels().get(0).getInferenceProfileArn())
+                .isEqualTo(LIST_INFERENCE_PROFILES_RESPONSE.inferenceProfileSummaries().get(1).inferenceProfileArn());
+        assertThat(response.getNextToken()).isNull();
+
+        final ArgumentCaptor<ListInferenceProfilesRequest> listCaptor = ArgumentCaptor.forClass(ListInferenceProfilesRequest.class);
+        verify(bedrockClient).listInferenceProfiles(listCaptor.capture());
+        assertThat(listCaptor.getValue().nextToken()).isEqualTo("page-2");
+        assertThat(listCaptor.getValue().maxResults()).isEqualTo(3);
+    }
+
     @ParameterizedTest
     @MethodSource("provideExceptionsAndExpectedResult")
     public void handleRequest_throwsException_convertsToCfnException(final Class<Exception> exceptionClass,
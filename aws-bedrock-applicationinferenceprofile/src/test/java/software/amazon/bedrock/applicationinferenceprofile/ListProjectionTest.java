@@ -0,0 +1,55 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileStatus;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ListProjectionTest {
+
+    private static final InferenceProfileSummary SUMMARY = InferenceProfileSummary.builder()
+            .inferenceProfileArn("arn")
+            .inferenceProfileName("name")
+            .status(InferenceProfileStatus.ACTIVE)
+            .models(software.amazon.awssdk.services.bedrock.model.InferenceProfileModel.builder().modelArn("model").build())
+            .createdAt(Instant.EPOCH)
+            .build();
+
+    @Test
+    public void identifierOnly() {
+        assertThat(Translator.translateFromSummary(SUMMARY, ListProjection.IDENTIFIER_ONLY))
+                .isEqualTo(ResourceModel.builder().inferenceProfileIdentifier("arn").build());
+    }
+
+    @Test
+    public void chosenProperties() {
+        assertThat(Translator.translateFromSummary(SUMMARY, ListProjection.of("InferenceProfileName", "Status")))
+                .isEqualTo(ResourceModel.builder()
+                        .inferenceProfileIdentifier("arn")
+                        .inferenceProfileName("name")
+                        .status("ACTIVE")
+                        .build());
+    }
+
+    @Test
+    public void all_MatchesFullTranslation() {
+        assertThat(Translator.translateFromSummary(SUMMARY, ListProjection.of(
+                "InferenceProfileArn", "InferenceProfileName", "InferenceProfileId", "Description", "Status", "Type",
+                "Models", "CreatedAt", "UpdatedAt")))
+                .isEqualTo(Translator.translateFromSummary(SUMMARY));
+    }
+
+    @Test
+    public void of_UnknownProperty() {
+        assertThatThrownBy(() -> ListProjection.of("Tags")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void parse_CommaSeparatedProperties() {
+        assertThat(ListProjection.parse(" InferenceProfileName, Status ,")).isEqualTo(ListProjection.of("InferenceProfileName", "Status"));
+        assertThat(ListProjection.parse("")).isEqualTo(ListProjection.IDENTIFIER_ONLY);
+    }
+}
@@ -0,0 +1,81 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ListSnapshotTest {
+
+    @Test
+    public void cursor_RoundTrips() {
+        final ListSnapshot.Cursor cursor = new ListSnapshot.Cursor("snapshot", 42, "token|with|separators", 7);
+
+        assertThat(ListSnapshot.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(ListSnapshot.Cursor.decode(new ListSnapshot.Cursor(null, 0, null, 0).encode()))
+                .isEqualTo(new ListSnapshot.Cursor(null, 0, null, 0));
+    }
+
+    @Test
+    public void cursor_PlainTokenIsNotACursor() {
+        assertThat(ListSnapshot.Cursor.decode(null)).isNull();
+        assertThat(ListSnapshot.Cursor.decode("bedrock-token")).isNull();
+    }
+
+    @Test
+    public void cursor_MalformedCursor_Throws() {
+        assertThatThrownBy(() -> ListSnapshot.Cursor.decode("aip-snapshot:!!"))
+                .isInstanceOf(CfnInvalidRequestException.class);
+    }
+
+    @Test
+    public void nextToken_PointsAtPageAndPositionOfNextModel() {
+        final ListSnapshot snapshot = snapshot("snapshot", "key", 3, Long.MAX_VALUE);
+
+        final ListSnapshot.Cursor cursor = ListSnapshot.Cursor.decode(snapshot.nextToken(0, 2));
+
+        assertThat(snapshot.page(0, 2)).hasSize(2);
+        assertThat(cursor).isEqualTo(new ListSnapshot.Cursor("snapshot", 2, "token-2", 2));
+        assertThat(snapshot.page(2, 2)).hasSize(1);
+        assertThat(snapshot.nextToken(2, 2)).isNull();
+    }
+
+    @Test
+    public void cache_ChecksKeyAndExpiry() {
+        final ListSnapshotCache cache = new ListSnapshotCache();
+        cache.put(snapshot("snapshot", "key", 1, 100), 10, 0);
+
+        assertThat(cache.get("other-key", "snapshot", 0)).isNull();
+        assertThat(cache.get("key", "snapshot", 0)).isNotNull();
+        assertThat(cache.get("key", "snapshot", 100)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void cache_EvictsLeastRecentlyUsed() {
+        final ListSnapshotCache cache = new ListSnapshotCache();
+        cache.put(snapshot("first", "key", 4, Long.MAX_VALUE), 10, 0);
+        cache.put(snapshot("second", "key", 4, Long.MAX_VALUE), 10, 0);
+        cache.get("key", "first", 0);
+        cache.put(snapshot("third", "key", 4, Long.MAX_VALUE), 10, 0);
+
+        assertThat(cache.get("key", "first", 0)).isNotNull();
+        assertThat(cache.get("key", "second", 0)).isNull();
+        assertThat(cache.get("key", "third", 0)).isNotNull();
+    }
+
+    private static ListSnapshot snapshot(final String id, final String key, final int size, final long expiresAt) {
+        final List<ResourceModel> resourceModels = new ArrayList<>();
+        final List<String> pageTokens = new ArrayList<>();
+        final List<Integer> pagePositions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            resourceModels.add(ResourceModel.builder().inferenceProfileIdentifier("profile" + i).build());
+            pageTokens.add("token-" + i);
+            pagePositions.add(i);
+        }
+        return new ListSnapshot(id, key, resourceModels, pageTokens, pagePositions, null, expiresAt);
+    }
+}
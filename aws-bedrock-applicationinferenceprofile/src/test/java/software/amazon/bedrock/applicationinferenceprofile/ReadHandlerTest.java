@@ -1,6 +1,11 @@
 package software.amazon.bedrock.applicationinferenceprofile;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -18,6 +23,7 @@ import software.amazon.awssdk.services.bedrock.model.ThrottlingException;
 import software.amazon.awssdk.services.bedrock.model.ValidationException;
 import software.amazon.cloudformation.Action;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -27,6 +33,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -34,6 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -41,6 +49,7 @@ import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDa
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.INFERENCE_PROFILE_RESOURCE_MODEL;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.SDK_STACK_TAG_LIST_1;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestSdkDataProvider.constructGetInferenceProfileResponse;
+import static software.amazon.bedrock.applicationinferenceprofile.data.TestConstants.APPLICATION_INFERENCE_PROFILE_ARN;
 
 @ExtendWith(MockitoExtension.class)
 public class ReadHandlerTest extends AbstractTestBase {
@@ -103,6 +112,204 @@ public class ReadHandlerTest extends AbstractTestBase {
         verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
 
+    @Test
+    public void handleRequest_ReadCacheDisabled_LogsNoCacheCounters() {
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE));
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
+        final List<String> lines = new ArrayList<>();
+
+        final ReadHandler handler = new ReadHandler(HandlerSettings.DEFAULT);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL.toBuilder().build())
+                .build();
+
+        final long hits = ReadCache.getHits();
+        final long misses = ReadCache.getMisses();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, lines::add);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(lines).noneMatch(line -> line.startsWith("Read cache"));
+        assertThat(ReadCache.getHits()).isEqualTo(hits);
+        assertThat(ReadCache.getMisses()).isEqualTo(misses);
+
+        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_DifferentCredentials_DoNotShareCalls() throws Exception {
+        final AmazonWebServicesClientProxy otherProxy = new AmazonWebServicesClientProxy(logger,
+                new Credentials("otherAccessKey", "otherSecretKey", "otherToken"), () -> Duration.ofSeconds(600).toMillis());
+        final ProxyClient<BedrockClient> otherProxyClient = MOCK_PROXY(otherProxy, bedrockClient);
+        // each call waits for the other one, so a read that joined the other's call would never get its answer
+        final CountDownLatch bothCalled = new CountDownLatch(2);
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class))).thenAnswer(invocation -> {
+            bothCalled.countDown();
+            bothCalled.await(10, TimeUnit.SECONDS);
+            return constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE);
+        });
+        when(bedrockClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
+
+        final ReadHandler handler = new ReadHandler(HandlerSettings.DEFAULT);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL.toBuilder().build())
+                .build();
+
+        final CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> otherResponse = CompletableFuture.supplyAsync(() ->
+                handler.handleRequest(otherProxy,
+                        request.toBuilder().desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL.toBuilder().build()).build(),
+                        new CallbackContext(), otherProxyClient, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(otherResponse.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(bothCalled.getCount()).isZero();
+        assertThat(CredentialScope.of(proxyClient)).isEqualTo("accessKey");
+        assertThat(CredentialScope.of(otherProxyClient)).isEqualTo("otherAccessKey");
+
+        verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient, times(2)).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ArnIdentifier_FetchesTagsConcurrently() {
+        final GetInferenceProfileResponse getInferenceProfileResponse = constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE);
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(getInferenceProfileResponse);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
+        final ResourceModel expectedResourceModel = Translator.translateFromReadResponse(getInferenceProfileResponse);
+        expectedResourceModel.setTags(CFN_TAG_LIST_1);
+
+        final ReadHandler handler = new ReadHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().inferenceProfileIdentifier(APPLICATION_INFERENCE_PROFILE_ARN).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(expectedResourceModel);
+
+        final ArgumentCaptor<ListTagsForResourceRequest> listTagsCaptor = ArgumentCaptor.forClass(ListTagsForResourceRequest.class);
+        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient).listTagsForResource(listTagsCaptor.capture());
+        assertThat(listTagsCaptor.getValue().resourceARN()).isEqualTo(APPLICATION_INFERENCE_PROFILE_ARN);
+    }
+
+    @Test
+    public void handleRequest_ReadCache_AnswersRepeatedReadsUntilInvalidated() {
+        ReadCache.clear();
+        final GetInferenceProfileResponse getInferenceProfileResponse = constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE)
+                .toBuilder()
+                .inferenceProfileArn(APPLICATION_INFERENCE_PROFILE_ARN)
+                .build();
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(getInferenceProfileResponse);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
+        final ResourceModel expectedResourceModel = Translator.translateFromReadResponse(getInferenceProfileResponse);
+        expectedResourceModel.setTags(CFN_TAG_LIST_1);
+
+        final ReadHandler handler = new ReadHandler(HandlerSettings.DEFAULT.toBuilder()
+                .readCacheTtl(Duration.ofMinutes(1))
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().inferenceProfileIdentifier(APPLICATION_INFERENCE_PROFILE_ARN).build())
+                .build();
+
+        final long hits = ReadCache.getHits();
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse = handler.handleRequest(proxy,
+                request.toBuilder().desiredResourceState(request.getDesiredResourceState().toBuilder().build()).build(),
+                new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> cachedResponse = handler.handleRequest(proxy,
+                request.toBuilder().desiredResourceState(request.getDesiredResourceState().toBuilder().build()).build(),
+                new CallbackContext(), proxyClient, logger);
+        ReadCache.invalidate(CredentialScope.keyPrefix(request.getAwsAccountId(), request.getRegion(),
+                CredentialScope.of(proxyClient)), APPLICATION_INFERENCE_PROFILE_ARN);
+        final ProgressEvent<ResourceModel, CallbackContext> invalidatedResponse = handler.handleRequest(proxy,
+                request.toBuilder().desiredResourceState(request.getDesiredResourceState().toBuilder().build()).build(),
+                new CallbackContext(), proxyClient, logger);
+
+        assertThat(firstResponse.getResourceModel()).isEqualTo(expectedResourceModel);
+        assertThat(cachedResponse.getResourceModel()).isEqualTo(expectedResourceModel);
+        assertThat(invalidatedResponse.getResourceModel()).isEqualTo(expectedResourceModel);
+        assertThat(ReadCache.getHits() - hits).isEqualTo(2);
+
+        verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient, times(2)).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ReadCache_NotSharedAcrossCredentials() {
+        ReadCache.clear();
+        final GetInferenceProfileResponse getInferenceProfileResponse = constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE)
+                .toBuilder()
+                .inferenceProfileArn(APPLICATION_INFERENCE_PROFILE_ARN)
+                .build();
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(getInferenceProfileResponse);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_STACK_TAG_LIST_1).build());
+        final AmazonWebServicesClientProxy otherProxy = new AmazonWebServicesClientProxy(logger,
+                new Credentials("otherAccessKey", "otherSecretKey", "otherToken"), () -> Duration.ofSeconds(600).toMillis());
+        final ProxyClient<BedrockClient> otherProxyClient = MOCK_PROXY(otherProxy, bedrockClient);
+
+        final ReadHandler handler = new ReadHandler(HandlerSettings.DEFAULT.toBuilder()
+                .readCacheTtl(Duration.ofMinutes(1))
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().inferenceProfileIdentifier(APPLICATION_INFERENCE_PROFILE_ARN).build())
+                .build();
+
+        final long hits = ReadCache.getHits();
+        handler.handleRequest(proxy,
+                request.toBuilder().desiredResourceState(request.getDesiredResourceState().toBuilder().build()).build(),
+                new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> otherResponse = handler.handleRequest(otherProxy,
+                request.toBuilder().desiredResourceState(request.getDesiredResourceState().toBuilder().build()).build(),
+                new CallbackContext(), otherProxyClient, logger);
+
+        assertThat(otherResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ReadCache.getHits()).isEqualTo(hits);
+
+        verify(bedrockClient, times(2)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient, times(2)).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ArnIdentifier_GetFails_WaitsForTags() {
+        proxy.setAction(Action.READ);
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenThrow(ResourceNotFoundException.class);
+
+        final ReadHandler handler = new ReadHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().inferenceProfileIdentifier(APPLICATION_INFERENCE_PROFILE_ARN).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+
+        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
     @ParameterizedTest
     @MethodSource("provideExceptionsAndExpectedErrorCode")
     public void handleRequest_throwsException_convertsToCfnException(final Class<Exception> exceptionClass, final HandlerErrorCode expectedErrorCode) {
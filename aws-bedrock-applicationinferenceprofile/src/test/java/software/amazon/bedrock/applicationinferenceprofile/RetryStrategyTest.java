@@ -0,0 +1,64 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryStrategyTest {
+    private static final LoggerProxy LOGGER = new LoggerProxy();
+
+    private final RetryStrategy strategy = new RetryStrategy(3, Duration.ofSeconds(2), Duration.ofSeconds(20));
+
+    @Test
+    public void nextDelaySeconds_StaysWithinBaseAndThreeTimesPreviousDelay() {
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(strategy.nextDelaySeconds(0)).isBetween(2, 6);
+            assertThat(strategy.nextDelaySeconds(5)).isBetween(2, 15);
+            assertThat(strategy.nextDelaySeconds(15)).isBetween(2, 20);
+        }
+    }
+
+    @Test
+    public void apply_RetryableError_ReturnsInProgressUntilCeiling() {
+        final ResourceModel model = ResourceModel.builder().build();
+        final CallbackContext callbackContext = new CallbackContext();
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            final ProgressEvent<ResourceModel, CallbackContext> response = strategy.apply(
+                    ProgressEvent.failed(null, callbackContext, HandlerErrorCode.ServiceInternalError, "internal"),
+                    model, callbackContext, LOGGER);
+
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+            assertThat(response.getResourceModel()).isSameAs(model);
+            assertThat(response.getCallbackDelaySeconds()).isBetween(2, 20);
+            assertThat(callbackContext.getTransientRetryAttempts()).isEqualTo(attempt);
+        }
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = strategy.apply(
+                ProgressEvent.failed(model, callbackContext, HandlerErrorCode.Throttling, "throttled"),
+                model, callbackContext, LOGGER);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(response.getMessage()).isEqualTo("throttled");
+    }
+
+    @Test
+    public void apply_OtherEvents_ResetRetries() {
+        final ResourceModel model = ResourceModel.builder().build();
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setTransientRetryAttempts(2);
+        callbackContext.setTransientRetryDelaySeconds(12);
+
+        final ProgressEvent<ResourceModel, CallbackContext> failed =
+                ProgressEvent.failed(model, callbackContext, HandlerErrorCode.AccessDenied, "denied");
+        assertThat(strategy.apply(failed, model, callbackContext, LOGGER)).isSameAs(failed);
+        assertThat(callbackContext.getTransientRetryAttempts()).isZero();
+        assertThat(callbackContext.getTransientRetryDelaySeconds()).isZero();
+    }
+}
@@ -0,0 +1,103 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.bedrock.model.ThrottlingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    @Test
+    public void call_ConcurrentCallersShareResult() throws Exception {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.call("profile", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "response";
+        }));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        final AtomicReference<String> followerResult = new AtomicReference<>();
+        final Thread follower = new Thread(() -> followerResult.set(singleFlight.call("profile", () -> {
+            calls.incrementAndGet();
+            return "second response";
+        })));
+        follower.start();
+        awaitWaiting(follower);
+        release.countDown();
+        follower.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(leader.get(10, TimeUnit.SECONDS)).isEqualTo("response");
+        assertThat(followerResult.get()).isEqualTo("response");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    public void call_ConcurrentCallersShareException() throws Exception {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        final ThrottlingException throttled = ThrottlingException.builder().message("slow down").build();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.call("profile", () -> {
+            started.countDown();
+            await(release);
+            throw throttled;
+        }));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        final AtomicReference<Throwable> followerError = new AtomicReference<>();
+        final Thread follower = new Thread(() -> {
+            try {
+                singleFlight.call("profile", () -> "second response");
+            } catch (final RuntimeException e) {
+                followerError.set(e);
+            }
+        });
+        follower.start();
+        awaitWaiting(follower);
+        release.countDown();
+        follower.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThatThrownBy(() -> AsyncHelper.join(leader)).isSameAs(throttled);
+        assertThat(followerError.get()).isSameAs(throttled);
+    }
+
+    @Test
+    public void call_SequentialCallsAreNotShared() {
+        final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.call("profile", calls::incrementAndGet);
+        singleFlight.call("profile", calls::incrementAndGet);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(final Thread thread) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
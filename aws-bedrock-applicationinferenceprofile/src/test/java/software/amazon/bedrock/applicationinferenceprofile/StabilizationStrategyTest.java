@@ -0,0 +1,34 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StabilizationStrategyTest {
+
+    private final StabilizationStrategy strategy = new StabilizationStrategy(
+            Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofMinutes(2));
+
+    @Test
+    public void isTerminal_OnlyActive() {
+        assertThat(strategy.isTerminal(InferenceProfileStatus.ACTIVE)).isTrue();
+        assertThat(strategy.isTerminal(InferenceProfileStatus.UNKNOWN_TO_SDK_VERSION)).isFalse();
+        assertThat(strategy.isTerminal(null)).isFalse();
+    }
+
+    @Test
+    public void nextDelay_GrowsWithinJitterBounds() {
+        assertThat(strategy.nextDelay(0)).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(2));
+        assertThat(strategy.nextDelay(1)).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+        assertThat(strategy.nextDelay(2)).isBetween(Duration.ofSeconds(4), Duration.ofSeconds(8));
+        assertThat(strategy.nextDelay(5)).isBetween(Duration.ofSeconds(15), Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void nextDelay_BudgetSpent_ReturnsZero() {
+        // 2 + 4 + 8 + 16 + 30 + 30 + 30 seconds of worst case waiting exceed the two minute budget
+        assertThat(strategy.nextDelay(7)).isSameAs(Duration.ZERO);
+    }
+}
@@ -0,0 +1,162 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.bedrock.BedrockClient;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileRequest;
+import software.amazon.awssdk.services.bedrock.model.GetInferenceProfileResponse;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileStatus;
+import software.amazon.awssdk.services.bedrock.model.InferenceProfileSummary;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesRequest;
+import software.amazon.awssdk.services.bedrock.model.ListInferenceProfilesResponse;
+import software.amazon.awssdk.services.bedrock.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.bedrock.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StatusPollerTest extends AbstractTestBase {
+    private static final String ARN_PREFIX = "arn:aws:bedrock:us-west-2:123456789012:application-inference-profile/";
+    private static final Deadline NO_DEADLINE = new Deadline(System.nanoTime(), Duration.ofDays(1), Duration.ZERO);
+
+    private BedrockClient bedrockClient;
+    private ProxyClient<BedrockClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy =
+                new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        bedrockClient = mock(BedrockClient.class);
+        proxyClient = MOCK_PROXY(proxy, bedrockClient);
+    }
+
+    @Test
+    public void poll_FewPendingUseGet() {
+        final GetInferenceProfileResponse getInferenceProfileResponse = GetInferenceProfileResponse.builder()
+                .inferenceProfileArn(ARN_PREFIX + "0")
+                .status(InferenceProfileStatus.ACTIVE)
+                .build();
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class))).thenReturn(getInferenceProfileResponse);
+
+        assertThat(new StatusPoller(10).poll(proxyClient, ARN_PREFIX + "0", NO_DEADLINE)).isSameAs(getInferenceProfileResponse);
+
+        verify(bedrockClient, never()).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+    }
+
+    @Test
+    public void refresh_BatchAnsweredByListing() {
+        final Map<String, CompletableFuture<GetInferenceProfileResponse>> batch = batch(12);
+        final List<InferenceProfileSummary> listed = IntStream.range(1, 12)
+                .mapToObj(i -> InferenceProfileSummary.builder()
+                        .inferenceProfileArn(ARN_PREFIX + i)
+                        .status(InferenceProfileStatus.ACTIVE)
+                        .build())
+                .collect(Collectors.toList());
+        when(bedrockClient.listInferenceProfiles(any(ListInferenceProfilesRequest.class)))
+                .thenReturn(ListInferenceProfilesResponse.builder()
+                        .inferenceProfileSummaries(listed.subList(0, 6))
+                        .nextToken("page-2")
+                        .build())
+                .thenReturn(ListInferenceProfilesResponse.builder()
+                        .inferenceProfileSummaries(listed.subList(6, 11))
+                        .build());
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenThrow(ResourceNotFoundException.builder().message("gone").build());
+
+        new StatusPoller(10).refresh(proxyClient, batch, NO_DEADLINE);
+
+        assertThat(AsyncHelper.join(batch.get(ARN_PREFIX + 5)).inferenceProfileArn()).isEqualTo(ARN_PREFIX + 5);
+        assertThat(AsyncHelper.join(batch.get(ARN_PREFIX + 11)).status()).isEqualTo(InferenceProfileStatus.ACTIVE);
+        // not listed, confirmed with its own call
+        assertThatThrownBy(() -> AsyncHelper.join(batch.get(ARN_PREFIX + 0))).isInstanceOf(ResourceNotFoundException.class);
+        verify(bedrockClient, times(2)).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+        verify(bedrockClient, times(1)).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void refresh_ListingFailureFailsEveryWaiter() {
+        final Map<String, CompletableFuture<GetInferenceProfileResponse>> batch = batch(10);
+        final ThrottlingException throttled = ThrottlingException.builder().message("slow down").build();
+        when(bedrockClient.listInferenceProfiles(any(ListInferenceProfilesRequest.class))).thenThrow(throttled);
+
+        new StatusPoller(10).refresh(proxyClient, batch, NO_DEADLINE);
+
+        batch.values().forEach(future -> assertThatThrownBy(() -> AsyncHelper.join(future)).isSameAs(throttled));
+        verify(bedrockClient, never()).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void refresh_DeadlinePassed_LeavesBatchForTheNextRefresh() {
+        final Map<String, CompletableFuture<GetInferenceProfileResponse>> batch = batch(12);
+        final Deadline expired = new Deadline(System.nanoTime(), Duration.ZERO, Duration.ZERO);
+
+        new StatusPoller(10).refresh(proxyClient, batch, expired);
+        new StatusPoller(20).refresh(proxyClient, batch, expired);
+
+        batch.values().forEach(future -> assertThat(future).isNotDone());
+        verify(bedrockClient, never()).listInferenceProfiles(any(ListInferenceProfilesRequest.class));
+        verify(bedrockClient, never()).getInferenceProfile(any(GetInferenceProfileRequest.class));
+    }
+
+    @Test
+    public void poll_DeadlinePassedWhileWaiting_ReturnsNull() throws Exception {
+        final CountDownLatch leaderCalled = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(bedrockClient.getInferenceProfile(any(GetInferenceProfileRequest.class))).thenAnswer(invocation -> {
+            leaderCalled.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return GetInferenceProfileResponse.builder()
+                    .inferenceProfileArn(invocation.<GetInferenceProfileRequest>getArgument(0).inferenceProfileIdentifier())
+                    .status(InferenceProfileStatus.ACTIVE)
+                    .build();
+        });
+        final StatusPoller statusPoller = new StatusPoller(10);
+
+        final CompletableFuture<GetInferenceProfileResponse> leader = CompletableFuture.supplyAsync(() ->
+                statusPoller.poll(proxyClient, ARN_PREFIX + "0", NO_DEADLINE));
+        assertThat(leaderCalled.await(10, TimeUnit.SECONDS)).isTrue();
+        // queued behind the running refresh, the follower gives up at its own deadline instead of the leader's
+        final GetInferenceProfileResponse followerResponse = statusPoller.poll(proxyClient, ARN_PREFIX + "1",
+                new Deadline(System.nanoTime(), Duration.ofMillis(100), Duration.ZERO));
+        release.countDown();
+
+        assertThat(followerResponse).isNull();
+        assertThat(leader.get(10, TimeUnit.SECONDS).inferenceProfileArn()).isEqualTo(ARN_PREFIX + "0");
+    }
+
+    @Test
+    public void of_SharedOnlyWithSameCredentials() {
+        final HandlerSettings settings = HandlerSettings.DEFAULT;
+
+        assertThat(StatusPoller.of("123456789012", "us-west-2", "accessKey", settings))
+                .isSameAs(StatusPoller.of("123456789012", "us-west-2", "accessKey", settings))
+                .isNotSameAs(StatusPoller.of("123456789012", "us-west-2", "otherAccessKey", settings));
+        assertThat(StatusPoller.of("123456789012", "us-west-2", null, settings))
+                .isNotSameAs(StatusPoller.of("123456789012", "us-west-2", null, settings));
+    }
+
+    private static Map<String, CompletableFuture<GetInferenceProfileResponse>> batch(final int size) {
+        final Map<String, CompletableFuture<GetInferenceProfileResponse>> batch = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            batch.put(ARN_PREFIX + i, new CompletableFuture<>());
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,100 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Compares TagDiff with the former map/stream pipeline of TagHelper on an update at the schema's 200 tag maximum:
+ * 50 stack level tags and 150 resource level tags, a tenth of them changed and a tenth of them removed.
+ * <p>
+ * Not a unit test, surefire does not pick it up. Run its main method against the test classpath.
+ */
+public class TagDiffBenchmark {
+    private static final int STACK_TAGS = 50;
+    private static final int RESOURCE_TAGS = 150;
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    public static void main(final String[] args) {
+        final ResourceHandlerRequest<ResourceModel> request = buildRequest();
+
+        long blackhole = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            blackhole += runTagDiff(request) + runStreamPipeline(request);
+        }
+
+        final long tagDiffNanos = measure(request, true);
+        final long pipelineNanos = measure(request, false);
+
+        System.out.printf("TagDiff:         %,d ns/op%n", tagDiffNanos / MEASURED_ITERATIONS);
+        System.out.printf("stream pipeline: %,d ns/op%n", pipelineNanos / MEASURED_ITERATIONS);
+        System.out.println(blackhole == 42 ? "" : "done");
+    }
+
+    private static long measure(final ResourceHandlerRequest<ResourceModel> request, final boolean tagDiff) {
+        long blackhole = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            blackhole += tagDiff ? runTagDiff(request) : runStreamPipeline(request);
+        }
+        final long elapsed = System.nanoTime() - start;
+        return blackhole == 42 ? elapsed + 1 : elapsed;
+    }
+
+    private static int runTagDiff(final ResourceHandlerRequest<ResourceModel> request) {
+        final TagDiff tagDiff = TagDiff.of(request);
+        return tagDiff.getTagsToAdd().size() + tagDiff.getTagKeysToRemove().size();
+    }
+
+    /**
+     * The diff as TagHelper computed it before TagDiff: resource tags through SDK Tag objects and convertToMap,
+     * then one stream per direction.
+     */
+    private static int runStreamPipeline(final ResourceHandlerRequest<ResourceModel> request) {
+        final Map<String, String> previousTags = new HashMap<>(request.getPreviousResourceTags());
+        previousTags.putAll(TagHelper.convertToMap(Translator.translateToSdkTags(request.getPreviousResourceState().getTags())));
+        final Map<String, String> desiredTags = new HashMap<>(request.getDesiredResourceTags());
+        desiredTags.putAll(TagHelper.convertToMap(Translator.translateToSdkTags(request.getDesiredResourceState().getTags())));
+
+        final Map<String, String> tagsToAdd = desiredTags.entrySet().stream()
+                .filter(e -> !previousTags.containsKey(e.getKey()) || !Objects.equals(previousTags.get(e.getKey()), e.getValue()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        final Set<String> tagKeysToRemove = previousTags.keySet().stream()
+                .filter(tagName -> !desiredTags.containsKey(tagName))
+                .collect(Collectors.toSet());
+        return tagsToAdd.size() + tagKeysToRemove.size();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> buildRequest() {
+        final Map<String, String> stackTags = new HashMap<>();
+        for (int i = 0; i < STACK_TAGS; i++) {
+            stackTags.put("stack-key-" + i, "stack-value-" + i);
+        }
+
+        final List<Tag> previousResourceTags = new ArrayList<>();
+        final List<Tag> desiredResourceTags = new ArrayList<>();
+        for (int i = 0; i < RESOURCE_TAGS; i++) {
+            previousResourceTags.add(Tag.builder().key("resource-key-" + i).value("value-" + i).build());
+            if (i % 10 == 1) {
+                continue;
+            }
+            desiredResourceTags.add(Tag.builder()
+                    .key("resource-key-" + i)
+                    .value(i % 10 == 0 ? "changed-value-" + i : "value-" + i)
+                    .build());
+        }
+
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(stackTags)
+                .desiredResourceTags(stackTags)
+                .previousResourceState(ResourceModel.builder().tags(previousResourceTags).build())
+                .desiredResourceState(ResourceModel.builder().tags(desiredResourceTags).build())
+                .build();
+    }
+}
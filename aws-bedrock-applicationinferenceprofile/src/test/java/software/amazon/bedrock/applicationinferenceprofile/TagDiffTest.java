@@ -0,0 +1,63 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagDiffTest {
+
+    @Test
+    public void of_MergesSourcesInOrder() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousSystemTags(Map.of("aws:cloudformation:stack-name", "stack"))
+                .previousResourceTags(Map.of("team", "a", "stage", "beta"))
+                .previousResourceState(ResourceModel.builder()
+                        .tags(Arrays.asList(Tag.builder().key("owner").value("x").build()))
+                        .build())
+                .systemTags(Map.of("aws:cloudformation:stack-name", "stack"))
+                .desiredResourceTags(Map.of("team", "a", "stage", "beta"))
+                .desiredResourceState(ResourceModel.builder()
+                        .tags(Arrays.asList(
+                                Tag.builder().key("owner").value("y").build(),
+                                Tag.builder().key("stage").value("prod").build(),
+                                Tag.builder().key("empty").build()))
+                        .build())
+                .build();
+
+        final TagDiff tagDiff = TagDiff.of(request);
+
+        assertThat(tagDiff.getTagsToAdd()).isEqualTo(Map.of("owner", "y", "stage", "prod"));
+        assertThat(tagDiff.getTagKeysToRemove()).isEmpty();
+        assertThat(tagDiff.isEmpty()).isFalse();
+    }
+
+    @Test
+    public void of_RemovedKeys() {
+        final TagDiff tagDiff = TagDiff.of(Map.of("a", "1", "b", "2", "c", "3"), Map.of("b", "2", "d", "4"));
+
+        assertThat(tagDiff.getTagsToAdd()).isEqualTo(Map.of("d", "4"));
+        assertThat(tagDiff.getTagKeysToRemove()).containsExactlyInAnyOrder("a", "c");
+    }
+
+    @Test
+    public void of_NoChanges_IsEmpty() {
+        final TagDiff tagDiff = TagDiff.of(Map.of("a", "1"), Map.of("a", "1"));
+
+        assertThat(tagDiff.isEmpty()).isTrue();
+        assertThat(TagDiff.of(ResourceHandlerRequest.<ResourceModel>builder().build()).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void of_MatchesTagHelperPipeline() {
+        final Map<String, String> previousTags = Map.of("a", "1", "b", "2", "c", "3");
+        final Map<String, String> desiredTags = Map.of("a", "1", "b", "20", "e", "5");
+
+        final TagDiff tagDiff = TagDiff.of(previousTags, desiredTags);
+
+        assertThat(tagDiff.getTagsToAdd()).isEqualTo(Map.of("b", "20", "e", "5"));
+        assertThat(tagDiff.getTagKeysToRemove()).containsExactly("c");
+    }
+}
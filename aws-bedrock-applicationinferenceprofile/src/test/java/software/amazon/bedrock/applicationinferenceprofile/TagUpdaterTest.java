@@ -0,0 +1,43 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TagUpdaterTest {
+
+    @Test
+    public void chunkTags_SortedBoundedChunks() {
+        final List<Map<String, String>> chunks = TagUpdater.chunkTags(
+                Map.of("c", "3", "a", "1", "e", "5", "b", "2", "d", "4"), 2);
+
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks.get(0)).containsOnlyKeys("a", "b");
+        assertThat(chunks.get(1)).containsOnlyKeys("c", "d");
+        assertThat(chunks.get(2)).containsExactly(Map.entry("e", "5"));
+    }
+
+    @Test
+    public void chunkKeys_SortedBoundedChunks() {
+        final List<Set<String>> chunks = TagUpdater.chunkKeys(Set.of("z", "x", "y"), 2);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).containsExactly("x", "y");
+        assertThat(chunks.get(1)).containsExactly("z");
+    }
+
+    @Test
+    public void chunk_Empty() {
+        assertThat(TagUpdater.chunkTags(Map.of(), 50)).isEmpty();
+        assertThat(TagUpdater.chunkKeys(Set.of(), 50)).isEmpty();
+    }
+
+    @Test
+    public void constructor_RejectsNonPositiveChunkSize() {
+        assertThatThrownBy(() -> new TagUpdater(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
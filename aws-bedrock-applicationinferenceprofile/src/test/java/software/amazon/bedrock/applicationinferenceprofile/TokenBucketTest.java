@@ -0,0 +1,66 @@
+package software.amazon.bedrock.applicationinferenceprofile;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void reserve_BurstThenSpreadsCallsAtRate() {
+        final TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(10), 0);
+
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isEqualTo(SECOND / 2);
+        assertThat(bucket.reserve(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    public void reserve_QueueLongerThanMaxWait_TakesNoPermit() {
+        final TokenBucket bucket = new TokenBucket(1, Duration.ofMillis(1500), 0);
+
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isEqualTo(SECOND);
+        assertThat(bucket.reserve(0)).isEqualTo(-1);
+        assertThat(bucket.reserve(SECOND)).isEqualTo(SECOND);
+    }
+
+    @Test
+    public void reserve_SlotAfterDeadline_TakesNoPermit() {
+        final TokenBucket bucket = new TokenBucket(1, Duration.ofSeconds(10), 0);
+
+        assertThat(bucket.reserve(0, SECOND / 2)).isZero();
+        assertThat(bucket.reserve(0, SECOND / 2)).isZero();
+        assertThat(bucket.reserve(0, SECOND / 2)).isEqualTo(-1);
+        assertThat(bucket.reserve(0, 2 * SECOND)).isEqualTo(SECOND);
+    }
+
+    @Test
+    public void onThrottled_HalvesRateDownToFloor_OnSuccessRecovers() {
+        final TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(10), 0);
+
+        bucket.onThrottled();
+        assertThat(bucket.getRate()).isEqualTo(5);
+        for (int i = 0; i < 10; i++) {
+            bucket.onThrottled();
+        }
+        assertThat(bucket.getRate()).isEqualTo(1);
+        for (int i = 0; i < 100; i++) {
+            bucket.onSuccess();
+        }
+        assertThat(bucket.getRate()).isEqualTo(10);
+    }
+
+    @Test
+    public void constructor_RejectsNonPositiveRate() {
+        assertThatThrownBy(() -> new TokenBucket(0, Duration.ofSeconds(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -34,6 +34,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -42,8 +43,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static software.amazon.bedrock.applicationinferenceprofile.data.TestCfnDataProvider.INFERENCE_PROFILE_RESOURCE_MODEL;
@@ -76,31 +79,23 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
     @AfterEach
     public void tear_down() {
-        verify(bedrockClient, atLeastOnce()).serviceName();
+        // an update without tag changes never reaches the client
+        if (!mockingDetails(bedrockClient).getInvocations().isEmpty()) {
+            verify(bedrockClient, atLeastOnce()).serviceName();
+        }
         verifyNoMoreInteractions(bedrockClient);
     }
 
     @Test
     public void handleRequest_AddStackTagSuccess() {
         // Set up
-        final GetInferenceProfileResponse inferenceProfile =
-                constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE).toBuilder()
-                        .models(SDK_INFERENCE_PROFILE_MODEL_LIST)
-                        .build();
         when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
                 .thenReturn(TagResourceResponse.builder().build());
-        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
-                .thenReturn(inferenceProfile);
 
-        final List<software.amazon.awssdk.services.bedrock.model.Tag> expectedTagList =
-                List.of(SDK_STACK_TAG_1, SDK_STACK_TAG_1, SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2);
-        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
-                .thenReturn(ListTagsForResourceResponse.builder()
-                        .tags(expectedTagList)
-                        .build());
-
-        final ResourceModel expectedResourceModel = Translator.translateFromReadResponse(inferenceProfile);
-        expectedResourceModel.setTags(Translator.translateFromSdkTags(expectedTagList));
+        // the stack tag goes to Bedrock, the model keeps its resource level tags
+        final ResourceModel expectedResourceModel = INFERENCE_PROFILE_RESOURCE_MODEL.toBuilder()
+                .tags(Translator.translateFromSdkTags(List.of(SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2)))
+                .build();
 
         final UpdateHandler handler = new UpdateHandler();
 
@@ -124,29 +119,17 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
 
         verify(bedrockClient).tagResource(any(TagResourceRequest.class));
-        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
-        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
 
     @Test
     public void handleRequest_RemoveStackTagSuccess() {
         // Set up
-        final GetInferenceProfileResponse inferenceProfile =
-                constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE).toBuilder()
-                        .models(SDK_INFERENCE_PROFILE_MODEL_LIST)
-                        .build();
         when(proxyClient.client().untagResource(any(UntagResourceRequest.class)))
                 .thenReturn(UntagResourceResponse.builder().build());
-        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
-                .thenReturn(inferenceProfile);
-
-        final List<software.amazon.awssdk.services.bedrock.model.Tag> expectedTagList =
-                List.of(SDK_STACK_TAG_1, SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2);
-        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
-                .thenReturn(ListTagsForResourceResponse.builder().tags(expectedTagList).build());
 
-        final ResourceModel expectedResourceModel = Translator.translateFromReadResponse(inferenceProfile);
-        expectedResourceModel.setTags(Translator.translateFromSdkTags(expectedTagList));
+        final ResourceModel expectedResourceModel = INFERENCE_PROFILE_RESOURCE_MODEL.toBuilder()
+                .tags(Translator.translateFromSdkTags(List.of(SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2)))
+                .build();
 
         final UpdateHandler handler = new UpdateHandler();
 
@@ -170,31 +153,13 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
 
         verify(bedrockClient).untagResource(any(UntagResourceRequest.class));
-        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
-        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
 
     @Test
     public void handleRequest_AddResourceTagSuccess() {
         // Set up
-        final GetInferenceProfileResponse inferenceProfile =
-                constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE).toBuilder()
-                        .models(SDK_INFERENCE_PROFILE_MODEL_LIST)
-                        .build();
         when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
                 .thenReturn(TagResourceResponse.builder().build());
-        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
-                .thenReturn(inferenceProfile);
-
-        final List<software.amazon.awssdk.services.bedrock.model.Tag> expectedTagList =
-                List.of(SDK_STACK_TAG_1, SDK_STACK_TAG_1, SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2);
-        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
-                .thenReturn(ListTagsForResourceResponse.builder()
-                        .tags(expectedTagList)
-                        .build());
-
-        final ResourceModel expectedResourceModel = Translator.translateFromReadResponse(inferenceProfile);
-        expectedResourceModel.setTags(Translator.translateFromSdkTags(expectedTagList));
 
         final UpdateHandler handler = new UpdateHandler();
 
@@ -212,30 +177,30 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
-        assertThat(response.getResourceModel()).isEqualTo(expectedResourceModel);
+        assertThat(response.getResourceModel().toBuilder().tags(null).build()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL_WITHOUT_RESOURCE_TAGS);
+        assertThat(response.getResourceModel().getTags())
+                .containsExactlyInAnyOrderElementsOf(Translator.translateFromSdkTags(List.of(SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2)));
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
 
         verify(bedrockClient).tagResource(any(TagResourceRequest.class));
-        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
-        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
 
     @Test
-    public void handleRequest_RemoveResourceTagSuccess() {
+    public void handleRequest_VerifyUpdateWithRead_Success() {
         // Set up
         final GetInferenceProfileResponse inferenceProfile =
                 constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE).toBuilder()
                         .models(SDK_INFERENCE_PROFILE_MODEL_LIST)
                         .build();
-        when(proxyClient.client().untagResource(any(UntagResourceRequest.class)))
-                .thenReturn(UntagResourceResponse.builder().build());
+        when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
+                .thenReturn(TagResourceResponse.builder().build());
         when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
                 .thenReturn(inferenceProfile);
 
         final List<software.amazon.awssdk.services.bedrock.model.Tag> expectedTagList =
-                List.of(SDK_STACK_TAG_1, SDK_STACK_TAG_1, SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2);
+                List.of(SDK_STACK_TAG_1, SDK_STACK_TAG_2, SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2);
         when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
                 .thenReturn(ListTagsForResourceResponse.builder()
                         .tags(expectedTagList)
@@ -244,6 +209,90 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final ResourceModel expectedResourceModel = Translator.translateFromReadResponse(inferenceProfile);
         expectedResourceModel.setTags(Translator.translateFromSdkTags(expectedTagList));
 
+        final UpdateHandler handler = new UpdateHandler(HandlerSettings.DEFAULT.toBuilder()
+                .verifyUpdateWithRead(true)
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .previousResourceTags(TagHelper.convertToMap(List.of(SDK_STACK_TAG_1)))
+                .desiredResourceTags(TagHelper.convertToMap(List.of(SDK_STACK_TAG_1, SDK_STACK_TAG_2)))
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(expectedResourceModel);
+
+        verify(bedrockClient).tagResource(any(TagResourceRequest.class));
+        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_NoPreviousState_ReadsResource() {
+        // Set up
+        final GetInferenceProfileResponse inferenceProfile = constructGetInferenceProfileResponse(InferenceProfileStatus.ACTIVE);
+        when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
+                .thenReturn(TagResourceResponse.builder().build());
+        when(proxyClient.client().getInferenceProfile(any(GetInferenceProfileRequest.class)))
+                .thenReturn(inferenceProfile);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().tags(SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2).build());
+
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getInferenceProfileArn()).isEqualTo(inferenceProfile.inferenceProfileArn());
+
+        verify(bedrockClient).tagResource(any(TagResourceRequest.class));
+        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
+        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_NoTagChanges_MakesNoCalls() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .previousResourceTags(TagHelper.convertToMap(List.of(SDK_STACK_TAG_1)))
+                .desiredResourceTags(TagHelper.convertToMap(List.of(SDK_STACK_TAG_1)))
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(INFERENCE_PROFILE_RESOURCE_MODEL);
+
+        verifyNoInteractions(bedrockClient);
+    }
+
+    @Test
+    public void handleRequest_RemoveResourceTagSuccess() {
+        // Set up
+        when(proxyClient.client().untagResource(any(UntagResourceRequest.class)))
+                .thenReturn(UntagResourceResponse.builder().build());
+
+        final ResourceModel expectedResourceModel = INFERENCE_PROFILE_RESOURCE_MODEL.toBuilder()
+                .tags(Translator.translateFromSdkTags(List.of()))
+                .build();
+
         final UpdateHandler handler = new UpdateHandler();
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
@@ -266,11 +315,109 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
 
         verify(bedrockClient).untagResource(any(UntagResourceRequest.class));
-        verify(bedrockClient).getInferenceProfile(any(GetInferenceProfileRequest.class));
-        verify(bedrockClient).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
 
 
+    @Test
+    public void handleRequest_ReplaceStackTagSuccess() {
+        // Set up
+        when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
+                .thenReturn(TagResourceResponse.builder().build());
+        when(proxyClient.client().untagResource(any(UntagResourceRequest.class)))
+                .thenReturn(UntagResourceResponse.builder().build());
+
+        final ResourceModel expectedResourceModel = INFERENCE_PROFILE_RESOURCE_MODEL.toBuilder()
+                .tags(Translator.translateFromSdkTags(List.of(SDK_RESOURCE_TAG_1, SDK_RESOURCE_TAG_2)))
+                .build();
+
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .previousResourceTags(TagHelper.convertToMap(List.of(SDK_STACK_TAG_1)))
+                .desiredResourceTags(TagHelper.convertToMap(List.of(SDK_STACK_TAG_2)))
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(expectedResourceModel);
+        assertThat(response.getErrorCode()).isNull();
+
+        final ArgumentCaptor<TagResourceRequest> tagCaptor = ArgumentCaptor.forClass(TagResourceRequest.class);
+        final ArgumentCaptor<UntagResourceRequest> untagCaptor = ArgumentCaptor.forClass(UntagResourceRequest.class);
+        verify(bedrockClient).tagResource(tagCaptor.capture());
+        verify(bedrockClient).untagResource(untagCaptor.capture());
+        assertThat(tagCaptor.getValue().tags()).containsExactly(SDK_STACK_TAG_2);
+        assertThat(untagCaptor.getValue().tagKeys()).containsExactly(SDK_STACK_TAG_1.key());
+    }
+
+    @Test
+    public void handleRequest_ReplaceStackTag_BothCallsFail() {
+        // Set up
+        when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
+                .thenThrow(AccessDeniedException.class);
+        when(proxyClient.client().untagResource(any(UntagResourceRequest.class)))
+                .thenThrow(ValidationException.class);
+
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .previousResourceTags(TagHelper.convertToMap(List.of(SDK_STACK_TAG_1)))
+                .desiredResourceTags(TagHelper.convertToMap(List.of(SDK_STACK_TAG_2)))
+                .build();
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+        assertThat(response.getMessage()).contains("TagResource failed").contains("UntagResource failed");
+
+        verify(bedrockClient).tagResource(any(TagResourceRequest.class));
+        verify(bedrockClient).untagResource(any(UntagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ChunkedTags_ResumesPendingChunks() {
+        // Set up
+        when(proxyClient.client().tagResource(any(TagResourceRequest.class)))
+                .thenReturn(TagResourceResponse.builder().build());
+
+        final UpdateHandler handler = new UpdateHandler(HandlerSettings.DEFAULT.toBuilder()
+                .tagChunkSize(1)
+                .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(INFERENCE_PROFILE_RESOURCE_MODEL_WITHOUT_RESOURCE_TAGS)
+                .desiredResourceState(INFERENCE_PROFILE_RESOURCE_MODEL)
+                .build();
+
+        // the first chunk went through on an earlier invocation
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.getCompletedTagChunks().add("TagResource[1/2]");
+
+        // Trigger
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        // Verify
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(callbackContext.getCompletedTagChunks()).containsExactlyInAnyOrder("TagResource[1/2]", "TagResource[2/2]");
+
+        final ArgumentCaptor<TagResourceRequest> tagCaptor = ArgumentCaptor.forClass(TagResourceRequest.class);
+        verify(bedrockClient).tagResource(tagCaptor.capture());
+        assertThat(tagCaptor.getValue().tags()).containsExactly(SDK_RESOURCE_TAG_2);
+    }
+
     @ParameterizedTest
     @MethodSource("provideExceptionsAndExpectedResult")
     public void tagResource_throwsException_convertsToCfnException(final Class<Exception> exceptionClass,
@@ -329,7 +476,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
     public static Stream<Arguments> provideExceptionsAndExpectedResult() {
         return Stream.of(
                 Arguments.of(AccessDeniedException.class, OperationStatus.FAILED, HandlerErrorCode.AccessDenied),
-                Arguments.of(InternalServerException.class, OperationStatus.FAILED, HandlerErrorCode.ServiceInternalError),
+                // retried through a callback by RetryStrategy
+                Arguments.of(InternalServerException.class, OperationStatus.IN_PROGRESS, HandlerErrorCode.ServiceInternalError),
                 // CfnThrottlingException is retriable
                 Arguments.of(ThrottlingException.class, OperationStatus.IN_PROGRESS, HandlerErrorCode.Throttling),
                 Arguments.of(ValidationException.class, OperationStatus.FAILED, HandlerErrorCode.InvalidRequest),